@@ -23,7 +23,8 @@ public @interface Decrypt {
     
     /**
      * Decryption algorithm to use
-     * @return decryption algorithm (AES or RSA)
+     * @return decryption algorithm (AES or RSA); AES uses the client's session key when the
+     *         request carries a session header from the handshake
      */
     String algorithm() default "AES";
     
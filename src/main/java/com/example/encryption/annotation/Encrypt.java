@@ -10,20 +10,27 @@ import java.lang.annotation.Target;
  * 
  * When applied to a controller method, the response will be automatically
  * encrypted using the configured encryption algorithm.
+ * 
+ * Methods may also return a CompletableFuture (or any CompletionStage) or a
+ * DeferredResult; its value is encrypted on the crypto executor once it completes.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Encrypt {
     
     /**
-     * Fields to exclude from encryption
+     * Fields to exclude from encryption when encryptEntireResponse is false
+     * 
+     * Excluded top-level properties are returned in plain form; all other properties
+     * are serialized to JSON and encrypted individually.
      * @return array of field names to exclude
      */
     String[] excludeFields() default {};
     
     /**
      * Encryption algorithm to use
-     * @return encryption algorithm (AES or RSA)
+     * @return encryption algorithm (AES or RSA); AES uses the client's session key when the
+     *         request carries a session header from the handshake
      */
     String algorithm() default "AES";
     
@@ -32,4 +39,59 @@ public @interface Encrypt {
      * @return true to encrypt entire response, false to encrypt only specified fields
      */
     boolean encryptEntireResponse() default true;
+
+    /**
+     * Split collection responses into independently encrypted chunks of this many elements
+     * 
+     * When positive, a collection body is returned as a list of AES ciphertexts, each
+     * decrypting to a JSON array of up to chunkSize elements. Chunks are encrypted in
+     * parallel. Only supported with AES and encryptEntireResponse = true.
+     * @return number of elements per chunk, or 0 to encrypt the response as one value
+     */
+    int chunkSize() default 0;
+
+    /**
+     * Compress the serialized response before encryption
+     * 
+     * Ciphertext cannot be compressed by the HTTP layer, so large JSON payloads should be
+     * compressed here. Payloads below {@code encryption.compression.threshold} are sent
+     * uncompressed; clients recognize compressed plaintext by its gzip or zlib header.
+     * Only supported with encryptEntireResponse = true, applied per chunk when chunking.
+     * @return compression format (NONE, GZIP or DEFLATE)
+     */
+    String compression() default "NONE";
+
+    /**
+     * Stream the response as newline-delimited JSON, one encrypted record per line
+     * 
+     * The body must be a Stream, Iterator or Iterable; it is consumed lazily while the
+     * response is written with chunked transfer encoding, so memory use does not grow with
+     * the number of records and the first record is sent as soon as it is encrypted.
+     * Each line is the Base64 ciphertext of one record's JSON and can be decrypted on its
+     * own. The method must return ResponseEntity (or a CompletableFuture or DeferredResult
+     * of one); Streams and closeable Iterators are closed when done. Only supported with
+     * encryptEntireResponse = true and without chunkSize.
+     * @return true to stream one encrypted record per line
+     */
+    boolean stream() default false;
+
+    /**
+     * Cache the encrypted response of GET requests for this long, e.g. "30s" or "5m"
+     * 
+     * Cached responses are served without invoking the method or encrypting again, keyed by
+     * method arguments and AES key version. Responses carry a weak ETag of their plaintext;
+     * requests whose If-None-Match matches get 304 Not Modified without any encryption.
+     * Only successful responses are cached; invalidate them with EncryptedResponseCache when
+     * the data changes. The method must return ResponseEntity, and its arguments must have
+     * value equality. Only supported with AES, encryptEntireResponse = true, without
+     * chunkSize or stream.
+     * @return time to live of cached responses, or empty to disable caching
+     */
+    String cacheTtl() default "";
+
+    /**
+     * Name of the response cache, used to invalidate it
+     * @return cache name, or empty for the declaring class and method name
+     */
+    String cacheName() default "";
 }
\ No newline at end of file
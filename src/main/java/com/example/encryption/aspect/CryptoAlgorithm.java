@@ -0,0 +1,25 @@
+package com.example.encryption.aspect;
+
+import java.util.Locale;
+
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Encryption schemes selectable through the algorithm attribute of @Encrypt and @Decrypt
+ */
+enum CryptoAlgorithm {
+
+    /** Shared configured AES key */
+    AES,
+
+    /** Hybrid RSA + AES-GCM envelope */
+    RSA;
+
+    static CryptoAlgorithm of(String algorithm) {
+        try {
+            return valueOf(algorithm.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new EncryptionException("Unsupported encryption algorithm: " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.encryption.aspect;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.encryption.config.EncryptionProperties;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Logs one INFO line per request summarizing the encryption and decryption done by
+ * DataEncryptAspect, instead of several lines per operation
+ *
+ * Requests are sampled when they start ({@code encryption.logging.summary-sample-rate});
+ * for requests that are not sampled, or when INFO is disabled for this logger, the aspect
+ * records nothing. Asynchronous requests are logged once, after the async dispatch.
+ * Failures are logged by the aspect regardless of sampling.
+ */
+@Component
+public class CryptoSummaryInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CryptoSummaryInterceptor.class);
+
+    private final EncryptionProperties encryptionProperties;
+
+    public CryptoSummaryInterceptor(EncryptionProperties encryptionProperties) {
+        this.encryptionProperties = encryptionProperties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && logger.isInfoEnabled() && sampled()) {
+            request.setAttribute(RequestCryptoSummary.ATTRIBUTE, new RequestCryptoSummary());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(RequestCryptoSummary.ATTRIBUTE) instanceof RequestCryptoSummary summary
+                && !summary.isEmpty()) {
+            logger.info("{} {} {} - {}", request.getMethod(), request.getRequestURI(), response.getStatus(), summary);
+        }
+    }
+
+    private boolean sampled() {
+        double rate = encryptionProperties.getLogging().getSummarySampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -1,23 +1,83 @@
 package com.example.encryption.aspect;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.alibaba.fastjson2.JSON;
-import com.example.encryption.annotation.Decrypt;
-import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.cache.EncryptedResponseCache.CachedResponse;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.converter.BinaryCiphertextHttpMessageConverter;
+import com.example.encryption.converter.EncryptedNdjsonBody;
 import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.metrics.EncryptionMetrics.OperationMeters;
 import com.example.encryption.util.AESUtils;
+import com.example.encryption.util.CompressionUtils;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.SessionKeyStore;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * AOP Aspect for handling encryption and decryption of method parameters and return values
  * 
  * This aspect intercepts methods annotated with @Encrypt and @Decrypt annotations
  * and automatically handles the encryption/decryption process.
+ * 
+ * The annotation's algorithm selects the scheme: AES uses the shared configured key,
+ * RSA uses hybrid envelopes (requests addressed to the server key pair, responses
+ * addressed to the public key sent in the configured client key header).
+ * AES requests that carry the session header use that client's ECDH session key from
+ * SessionKeyStore instead of the shared key, and bypass the response cache.
+ * 
+ * Ciphertext travels as Base64 text by default. Clients that send or accept
+ * {@code application/vnd.encrypted-binary} exchange raw ciphertext bytes instead, which
+ * avoids the Base64 size overhead; @Encrypt responses also honour
+ * {@code application/octet-stream} when the Accept header prefers it over JSON. Field-level
+ * and chunked responses stay Base64 text because they are embedded in JSON, as do streamed
+ * NDJSON responses, one line per record.
+ * 
+ * With @Encrypt(cacheTtl = ...), GET responses are served from EncryptedResponseCache and
+ * carry an ETag; a matching If-None-Match yields 304 before anything is encrypted.
+ * 
+ * Methods returning CompletableFuture (any CompletionStage) or DeferredResult get the
+ * same type back; their value is encrypted on the bounded CryptoExecutor once it
+ * completes, so neither the request thread nor the producing thread does the crypto work.
+ * 
+ * Annotation attributes are resolved once per method by EncryptionPlanRegistry, so each
+ * invocation costs a single map lookup instead of annotation binding and reflection.
+ * Latency, payload sizes and decryption failures are recorded on the plan's prebuilt
+ * meters (see EncryptionMetrics). Successful operations are not logged individually;
+ * CryptoSummaryInterceptor writes one summary line per sampled request instead.
  */
 @Aspect
 @Component
@@ -25,99 +85,536 @@ public class DataEncryptAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(DataEncryptAspect.class);
 
+    /**
+     * Accepted media types that select raw ciphertext responses
+     */
+    private static final List<MediaType> BINARY_RESPONSE_TYPES =
+        List.of(BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY, MediaType.APPLICATION_OCTET_STREAM);
+
     private final AESUtils aesUtils;
+    private final EnvelopeUtils envelopeUtils;
+    private final CompressionUtils compressionUtils;
+    private final EncryptionProperties encryptionProperties;
+    private final EncryptionPlanRegistry planRegistry;
+    private final CryptoExecutor cryptoExecutor;
+    private final EncryptedResponseCache responseCache;
+    private final SessionKeyStore sessionKeyStore;
 
-    public DataEncryptAspect(AESUtils aesUtils) {
+    public DataEncryptAspect(AESUtils aesUtils, EnvelopeUtils envelopeUtils, CompressionUtils compressionUtils,
+            EncryptionProperties encryptionProperties, EncryptionPlanRegistry planRegistry,
+            CryptoExecutor cryptoExecutor, EncryptedResponseCache responseCache, SessionKeyStore sessionKeyStore) {
         this.aesUtils = aesUtils;
+        this.envelopeUtils = envelopeUtils;
+        this.compressionUtils = compressionUtils;
+        this.encryptionProperties = encryptionProperties;
+        this.planRegistry = planRegistry;
+        this.cryptoExecutor = cryptoExecutor;
+        this.responseCache = responseCache;
+        this.sessionKeyStore = sessionKeyStore;
     }
 
     /**
      * Around advice for methods annotated with @Encrypt
      * Encrypts the method return value
      */
-    @Around("@annotation(encrypt)")
-    public Object encryptAround(ProceedingJoinPoint joinPoint, Encrypt encrypt) throws Throwable {
-        logger.debug("Encrypting response for method: {}", joinPoint.getSignature().getName());
+    @Around("@annotation(com.example.encryption.annotation.Encrypt)")
+    public Object encryptAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        EncryptPlan plan = planRegistry.encryptPlan(((MethodSignature) joinPoint.getSignature()).getMethod());
+        if (plan.getCacheTtl() != null) {
+            HttpServletRequest request = currentRequest();
+            if (request != null && ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                    && request.getHeader(encryptionProperties.getSession().getHeader()) == null) {
+                return cachedResult(joinPoint, plan, request);
+            }
+        }
 
-        try {
-            // Execute the original method
+        // Request headers are read now, asynchronous results complete outside the request thread;
+        // an unknown session fails before the method runs
+        ResponseTarget target = responseTarget();
+
+        // Execute the original method; its own exceptions are not encryption failures
+        Object result = joinPoint.proceed();
+        if (result == null) {
+            logger.debug("Method returned null, skipping encryption");
+            return null;
+        }
+
+        if (plan.isReturnsCompletionStage()) {
+            return encryptAsync(plan, (CompletionStage<?>) result, target);
+        }
+        if (plan.isReturnsDeferredResult()) {
+            return encryptAsync(plan, (DeferredResult<?>) result, target);
+        }
+        return encryptResult(plan, result, target);
+    }
+
+    /**
+     * Serve a GET request from the response cache, invoking and encrypting only on a miss
+     *
+     * Requests whose If-None-Match matches the response ETag get 304 without encryption;
+     * when that happens on a miss, only the ETag is cached so later conditional requests
+     * skip the method as well.
+     */
+    private Object cachedResult(ProceedingJoinPoint joinPoint, EncryptPlan plan, HttpServletRequest request)
+            throws Throwable {
+        EncryptedResponseCache.Key key = responseCache.key(plan.getCacheName(), joinPoint.getArgs(),
+            aesUtils.currentKeyVersion());
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null && EncryptedResponseCache.matches(ifNoneMatch, cached.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.etag()).build();
+        }
+
+        ResponseTarget target = responseTarget();
+        if (cached == null || cached.ciphertext() == null) {
             Object result = joinPoint.proceed();
-            
-            if (result == null) {
-                logger.debug("Method returned null, skipping encryption");
-                return null;
+            // Errors and empty responses are encrypted as usual but never cached
+            if (!(result instanceof ResponseEntity<?> entity) || entity.getBody() == null
+                    || !entity.getStatusCode().is2xxSuccessful()) {
+                return result == null ? null : encryptResult(plan, result, target);
+            }
+
+            byte[] json = JSON.toJSONBytes(entity.getBody());
+            String etag = responseCache.etag(key, json);
+            if (EncryptedResponseCache.matches(ifNoneMatch, etag)) {
+                responseCache.put(key, new CachedResponse(entity.getStatusCode(), entity.getHeaders(), null, etag),
+                    plan.getCacheTtl());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            cached = responseCache.put(key, new CachedResponse(entity.getStatusCode(), entity.getHeaders(),
+                encryptCacheable(plan, json, target), etag), plan.getCacheTtl());
+        }
+
+        byte[] encrypted = cached.ciphertext();
+        return ResponseEntity.status(cached.status())
+            .headers(cached.headers())
+            .eTag(cached.etag())
+            .body(target.binary() ? encrypted : Base64.getEncoder().encodeToString(encrypted));
+    }
+
+    /**
+     * Encrypt the serialized body of a cacheable response to raw ciphertext
+     */
+    private byte[] encryptCacheable(EncryptPlan plan, byte[] json, ResponseTarget target) {
+        OperationMeters meters = plan.getMeters();
+        long start = System.nanoTime();
+        try {
+            byte[] encrypted = aesUtils.encryptToBytes(compressionUtils.compress(json, plan.getCompression()));
+            long ciphertextSize = target.binary() ? encrypted.length : (encrypted.length + 2) / 3 * 4L;
+            meters.recordSizes(json.length, ciphertextSize);
+            meters.recordSuccess(start);
+            if (target.summary() != null) {
+                target.summary().recordEncrypt(plan.getMethodName(), plan.getAlgorithm(), start, ciphertextSize);
+            }
+            return encrypted;
+        } catch (Exception e) {
+            meters.recordFailure(start);
+            logger.error("Failed to encrypt response for method: {}", plan.getMethodName(), e);
+            throw new EncryptionException("Failed to encrypt method response", e);
+        }
+    }
+
+    /**
+     * Encrypt the value of a CompletionStage on the crypto executor, without blocking
+     */
+    private CompletionStage<Object> encryptAsync(EncryptPlan plan, CompletionStage<?> stage, ResponseTarget target) {
+        return stage.thenCompose(value -> cryptoExecutor.supply(() -> encryptResult(plan, value, target)));
+    }
+
+    /**
+     * Encrypt the result of a DeferredResult on the crypto executor
+     *
+     * MVC waits on the returned DeferredResult, which uses the default async request
+     * timeout; timeout and completion callbacks of the original are not invoked.
+     * Exceptions set as error result are passed through unencrypted.
+     */
+    private DeferredResult<Object> encryptAsync(EncryptPlan plan, DeferredResult<?> deferred, ResponseTarget target) {
+        DeferredResult<Object> encrypted = new DeferredResult<>();
+        deferred.setResultHandler(value -> {
+            if (value instanceof Throwable) {
+                encrypted.setErrorResult(value);
+                return;
             }
+            cryptoExecutor.supply(() -> encryptResult(plan, value, target)).whenComplete((encryptedValue, e) -> {
+                if (e == null) {
+                    encrypted.setResult(encryptedValue);
+                } else {
+                    encrypted.setErrorResult(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        });
+        return encrypted;
+    }
 
-            // Convert result to JSON and encrypt
-            String jsonResult = JSON.toJSONString(result);
-            String encryptedResult = aesUtils.encrypt(jsonResult);
+    /**
+     * Encrypt a method result, or the body of a ResponseEntity result
+     */
+    private Object encryptResult(EncryptPlan plan, Object result, ResponseTarget target) {
+        ResponseEntity<?> entity = result instanceof ResponseEntity<?> responseEntity ? responseEntity : null;
+        Object body = entity != null ? entity.getBody() : result;
 
-            logger.debug("Successfully encrypted response for method: {}", joinPoint.getSignature().getName());
+        if (body == null) {
+            logger.debug("Method returned null, skipping encryption");
+            return result;
+        }
+        if (plan.isStream()) {
+            return streamResult(plan, entity, body, target);
+        }
+
+        OperationMeters meters = plan.getMeters();
+        long start = System.nanoTime();
+        try {
+            Object encryptedResult;
+            long ciphertextSize = 0;
+            if (plan.getChunkSize() > 0 && body instanceof Collection<?> collection) {
+                // Independently decryptable chunks, serialized and encrypted in parallel
+                List<?> items = collection instanceof List<?> list ? list : new ArrayList<>(collection);
+                CompressionUtils.Format compression = plan.getCompression();
+                encryptedResult = aesUtils.encryptChunks(items, plan.getChunkSize(),
+                    chunk -> compressionUtils.compress(JSON.toJSONBytes(chunk), compression),
+                    rawEncryptorFor(plan.getAlgorithm(), target));
+            } else if (plan.isEncryptEntireResponse()) {
+                // Serialize straight to UTF-8 bytes and encrypt, without an intermediate JSON String
+                byte[] json = JSON.toJSONBytes(body);
+                byte[] plain = compressionUtils.compress(json, plan.getCompression());
+                byte[] encrypted = rawEncryptorFor(plan.getAlgorithm(), target).apply(plain);
+                if (target.binary()) {
+                    // Raw ciphertext, written as-is by ByteArrayHttpMessageConverter
+                    ciphertextSize = encrypted.length;
+                    encryptedResult = encrypted;
+                } else {
+                    String encoded = Base64.getEncoder().encodeToString(encrypted);
+                    ciphertextSize = encoded.length();
+                    encryptedResult = encoded;
+                }
+                meters.recordSizes(json.length, ciphertextSize);
+            } else {
+                encryptedResult = plan.getFieldEncryptor().encryptFields(body, encryptorFor(plan.getAlgorithm(), target));
+            }
+            meters.recordSuccess(start);
+            if (target.summary() != null) {
+                target.summary().recordEncrypt(plan.getMethodName(), plan.getAlgorithm(), start, ciphertextSize);
+            }
+
+            // Keep the status and headers of ResponseEntity results, replacing only the body
+            if (entity != null) {
+                return ResponseEntity.status(entity.getStatusCode()).headers(entity.getHeaders()).body(encryptedResult);
+            }
             return encryptedResult;
 
         } catch (Exception e) {
-            logger.error("Failed to encrypt response for method: {}", joinPoint.getSignature().getName(), e);
+            meters.recordFailure(start);
+            logger.error("Failed to encrypt response for method: {}", plan.getMethodName(), e);
             throw new EncryptionException("Failed to encrypt method response", e);
         }
     }
 
     /**
-     * Around advice for methods annotated with @Decrypt
-     * Decrypts the method parameters
+     * Replace a Stream, Iterator or Iterable body with an NDJSON body that encrypts each
+     * record while the response is written, so the records are never all in memory
      */
-    @Around("@annotation(decrypt)")
-    public Object decryptAround(ProceedingJoinPoint joinPoint, Decrypt decrypt) throws Throwable {
-        logger.debug("Decrypting request for method: {}", joinPoint.getSignature().getName());
+    private ResponseEntity<EncryptedNdjsonBody> streamResult(EncryptPlan plan, ResponseEntity<?> entity, Object body,
+            ResponseTarget target) {
+        long start = System.nanoTime();
+        if (!(body instanceof Stream<?> || body instanceof Iterator<?> || body instanceof Iterable<?>)) {
+            throw new EncryptionException("Streaming response of " + plan.getMethodName()
+                + " requires a Stream, Iterator or Iterable body, got " + body.getClass().getName());
+        }
+        Function<byte[], byte[]> encryptor;
+        try {
+            encryptor = rawEncryptorFor(plan.getAlgorithm(), target);
+        } catch (EncryptionException e) {
+            plan.getMeters().recordFailure(start);
+            logger.error("Failed to encrypt response for method: {}", plan.getMethodName(), e);
+            throw new EncryptionException("Failed to encrypt method response", e);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (entity != null) {
+            headers.putAll(entity.getHeaders());
+        }
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        return ResponseEntity.status(entity != null ? entity.getStatusCode() : HttpStatus.OK)
+            .headers(headers)
+            .body(output -> writeRecords(plan, body, encryptor, target, output));
+    }
 
+    /**
+     * Encrypt and write one Base64 line per record, closing the source when done
+     */
+    private void writeRecords(EncryptPlan plan, Object body, Function<byte[], byte[]> encryptor,
+            ResponseTarget target, OutputStream output) throws IOException {
+        OperationMeters meters = plan.getMeters();
+        long start = System.nanoTime();
+        long plaintextSize = 0;
+        long ciphertextSize = 0;
         try {
-            Object[] args = joinPoint.getArgs();
-            
-            if (args == null || args.length == 0) {
-                logger.debug("No arguments to decrypt, proceeding with original method");
-                return joinPoint.proceed();
+            Iterator<?> records = body instanceof Stream<?> stream ? stream.iterator()
+                : body instanceof Iterator<?> iterator ? iterator : ((Iterable<?>) body).iterator();
+            boolean first = true;
+            while (records.hasNext()) {
+                byte[] json = JSON.toJSONBytes(records.next());
+                byte[] line = Base64.getEncoder().encode(
+                    encryptor.apply(compressionUtils.compress(json, plan.getCompression())));
+                output.write(line);
+                output.write('\n');
+                plaintextSize += json.length;
+                ciphertextSize += line.length + 1;
+                if (first) {
+                    // Commit the headers and send the first record without waiting for the buffer to fill
+                    output.flush();
+                    first = false;
+                }
+            }
+            output.flush();
+        } catch (IOException e) {
+            meters.recordFailure(start);
+            logger.warn("Streaming response aborted for method: {}: {}", plan.getMethodName(), e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            meters.recordFailure(start);
+            logger.error("Failed to encrypt streamed record for method: {}", plan.getMethodName(), e);
+            throw new EncryptionException("Failed to encrypt streamed record", e);
+        } finally {
+            closeQuietly(body);
+        }
+
+        meters.recordSizes(plaintextSize, ciphertextSize);
+        meters.recordSuccess(start);
+        if (target.summary() != null) {
+            target.summary().recordEncrypt(plan.getMethodName(), plan.getAlgorithm(), start, ciphertextSize);
+        }
+    }
+
+    private static void closeQuietly(Object source) {
+        if (source instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close streamed response source", e);
             }
+        }
+    }
 
-            // Decrypt the specified parameter (default is first parameter)
-            int paramIndex = decrypt.parameterIndex();
-            if (paramIndex == -1) {
-                // Decrypt all string parameters
-                for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof String) {
-                        args[i] = decryptParameter((String) args[i], decrypt);
+    /**
+     * Around advice for methods annotated with @Decrypt
+     * Decrypts the method parameters
+     */
+    @Around("@annotation(com.example.encryption.annotation.Decrypt)")
+    public Object decryptAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        DecryptPlan plan = planRegistry.decryptPlan(((MethodSignature) joinPoint.getSignature()).getMethod());
+        int[] parameterIndexes = plan.getParameterIndexes();
+
+        if (parameterIndexes.length == 0) {
+            logger.debug("No arguments to decrypt, proceeding with original method");
+            return joinPoint.proceed();
+        }
+
+        Object[] args = joinPoint.getArgs();
+        OperationMeters meters = plan.getMeters();
+        HttpServletRequest request = currentRequest();
+        long start = System.nanoTime();
+        try {
+            SessionKeyStore.Session session = plan.getAlgorithm() == CryptoAlgorithm.AES ? session(request) : null;
+            long ciphertextSize = 0;
+            boolean fallback = false;
+            for (int index : parameterIndexes) {
+                if (args[index] instanceof String encryptedParam) {
+                    try {
+                        args[index] = decryptParameter(encryptedParam, plan, session);
+                        ciphertextSize += encryptedParam.length();
+                    } catch (EncryptionException e) {
+                        meters.recordDecryptFailure();
+                        if (plan.isThrowOnFailure()) {
+                            throw e;
+                        }
+                        fallback = true;
+                        logger.warn("Failed to decrypt parameter {} of {}, keeping original value",
+                            index, plan.getMethodName(), e);
                     }
                 }
-            } else if (paramIndex < args.length && args[paramIndex] instanceof String) {
-                args[paramIndex] = decryptParameter((String) args[paramIndex], decrypt);
             }
 
-            logger.debug("Successfully decrypted request for method: {}", joinPoint.getSignature().getName());
-            return joinPoint.proceed(args);
+            if (fallback) {
+                meters.recordFailure(start);
+                meters.recordDecryptFallback();
+            } else {
+                meters.recordSuccess(start);
+                RequestCryptoSummary summary = cryptoSummary(request);
+                if (summary != null) {
+                    summary.recordDecrypt(plan.getMethodName(), plan.getAlgorithm(), start, ciphertextSize);
+                }
+            }
 
         } catch (Exception e) {
-            logger.error("Failed to decrypt request for method: {}", joinPoint.getSignature().getName(), e);
+            meters.recordFailure(start);
+            logger.error("Failed to decrypt request for method: {}", plan.getMethodName(), e);
             
-            if (decrypt.throwOnFailure()) {
-                throw new EncryptionException("Failed to decrypt method parameters", e);
+            if (plan.isThrowOnFailure()) {
+                throw e instanceof EncryptionException encryptionException ? encryptionException
+                    : new EncryptionException("Failed to decrypt method parameters", e);
             } else {
+                meters.recordDecryptFallback();
                 logger.warn("Continuing with original parameters due to throwOnFailure=false");
                 return joinPoint.proceed();
             }
         }
+        return joinPoint.proceed(args);
     }
 
     /**
      * Decrypt a single parameter
+     *
+     * @throws EncryptionException if the parameter cannot be decrypted
      */
-    private String decryptParameter(String encryptedParam, Decrypt decrypt) {
+    private String decryptParameter(String encryptedParam, DecryptPlan plan, SessionKeyStore.Session session) {
+        byte[] decrypted;
         try {
-            return aesUtils.decrypt(encryptedParam);
-        } catch (Exception e) {
-            if (decrypt.throwOnFailure()) {
-                throw new EncryptionException("Failed to decrypt parameter", e);
-            } else {
-                logger.warn("Failed to decrypt parameter, returning original value", e);
-                return encryptedParam;
+            decrypted = decryptPayload(encryptedParam, plan.getAlgorithm(), session);
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new EncryptionException("Failed to decrypt parameter", e);
+        }
+        // Base64 ciphertext is ASCII and binary bodies hold one byte per char, so the length is the byte size
+        plan.getMeters().recordSizes(decrypted.length, encryptedParam.length());
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Resolve the Base64 encryption function for the scheme selected by the annotation
+     */
+    private Function<byte[], String> encryptorFor(CryptoAlgorithm algorithm, ResponseTarget target) {
+        return rawEncryptorFor(algorithm, target).andThen(Base64.getEncoder()::encodeToString);
+    }
+
+    /**
+     * Resolve the raw ciphertext encryption function for the scheme selected by the annotation
+     */
+    private Function<byte[], byte[]> rawEncryptorFor(CryptoAlgorithm algorithm, ResponseTarget target) {
+        return switch (algorithm) {
+            case AES -> target.session() != null ? target.session()::encrypt : aesUtils::encryptToBytes;
+            case RSA -> {
+                String publicKey = target.clientPublicKey();
+                if (publicKey == null || publicKey.isBlank()) {
+                    throw new EncryptionException("RSA response encryption requires the "
+                        + encryptionProperties.getRsa().getClientKeyHeader() + " request header");
+                }
+                yield data -> envelopeUtils.encryptToBytes(data, publicKey);
+            }
+        };
+    }
+
+    /**
+     * Capture the request headers that shape the encrypted response: whether the client
+     * asked for raw binary ciphertext instead of Base64 text, its RSA public key and its
+     * session
+     */
+    private ResponseTarget responseTarget() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return new ResponseTarget(false, null, null, null);
+        }
+        return new ResponseTarget(
+            prefersBinary(request.getHeader(HttpHeaders.ACCEPT)),
+            request.getHeader(encryptionProperties.getRsa().getClientKeyHeader()),
+            session(request),
+            cryptoSummary(request));
+    }
+
+    /**
+     * Session named by the session header, null when the header is absent
+     *
+     * @throws EncryptionException if the session is unknown or expired
+     */
+    private SessionKeyStore.Session session(HttpServletRequest request) {
+        String sessionId = request != null ? request.getHeader(encryptionProperties.getSession().getHeader()) : null;
+        return sessionId != null ? sessionKeyStore.session(sessionId) : null;
+    }
+
+    /**
+     * Summary of the current request, null unless CryptoSummaryInterceptor sampled it
+     */
+    private static RequestCryptoSummary cryptoSummary(HttpServletRequest request) {
+        Object summary = request != null ? request.getAttribute(RequestCryptoSummary.ATTRIBUTE) : null;
+        return summary instanceof RequestCryptoSummary requestSummary ? requestSummary : null;
+    }
+
+    /**
+     * Whether the request body is raw binary ciphertext
+     */
+    private static boolean sentBinary() {
+        HttpServletRequest request = currentRequest();
+        String contentType = request != null ? request.getContentType() : null;
+        return contentType != null && contentType.startsWith(BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY_VALUE);
+    }
+
+    /**
+     * Whether an Accept header ranks a binary ciphertext type above JSON
+     *
+     * Types are taken in order of quality value; the first binary or JSON-compatible type
+     * wins, so wildcards and equally preferred JSON listed first keep the Base64 default.
+     */
+    static boolean prefersBinary(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        // Stable, so types of equal quality keep the client's order
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (BINARY_RESPONSE_TYPES.stream().anyMatch(mediaType::equalsTypeAndSubtype)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
             }
         }
+        return false;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    /**
+     * Decrypt a payload with the scheme selected by the annotation
+     *
+     * @return Decrypted UTF-8 bytes
+     */
+    private byte[] decryptPayload(String data, CryptoAlgorithm algorithm, SessionKeyStore.Session session) {
+        // Binary bodies are read as ISO-8859-1, so each char is one ciphertext byte
+        byte[] encrypted = sentBinary() ? data.getBytes(StandardCharsets.ISO_8859_1) : decodeBase64(data);
+        if (session != null) {
+            return session.decrypt(encrypted);
+        }
+        return switch (algorithm) {
+            case AES -> aesUtils.decrypt(encrypted);
+            case RSA -> envelopeUtils.decrypt(encrypted);
+        };
+    }
+
+    private static byte[] decodeBase64(String data) {
+        try {
+            return Base64.getDecoder().decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new EncryptionException("Encrypted data is not valid Base64", e);
+        }
+    }
+
+    /**
+     * Response encoding, recipient, session and request summary, captured on the request thread
+     */
+    private record ResponseTarget(boolean binary, String clientPublicKey, SessionKeyStore.Session session,
+            RequestCryptoSummary summary) {
     }
-}
\ No newline at end of file
+}
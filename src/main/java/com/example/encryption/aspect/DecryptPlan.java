@@ -0,0 +1,55 @@
+package com.example.encryption.aspect;
+
+import java.lang.reflect.Method;
+import java.util.stream.IntStream;
+
+import com.example.encryption.annotation.Decrypt;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.metrics.EncryptionMetrics.OperationMeters;
+
+/**
+ * Precomputed decryption settings for a method annotated with @Decrypt
+ */
+final class DecryptPlan {
+
+    private final String methodName;
+    private final CryptoAlgorithm algorithm;
+    private final OperationMeters meters;
+    private final int[] parameterIndexes;
+    private final boolean throwOnFailure;
+
+    DecryptPlan(Method method, Decrypt decrypt, EncryptionMetrics metrics) {
+        this.methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        this.algorithm = CryptoAlgorithm.of(decrypt.algorithm());
+        this.meters = metrics.operationMeters(EncryptionMetrics.OPERATION_DECRYPT, algorithm.name(), methodName);
+        this.throwOnFailure = decrypt.throwOnFailure();
+
+        // Only parameters that can hold a String are decryption candidates
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int index = decrypt.parameterIndex();
+        this.parameterIndexes = IntStream.range(0, parameterTypes.length)
+            .filter(i -> index == -1 || i == index)
+            .filter(i -> parameterTypes[i].isAssignableFrom(String.class))
+            .toArray();
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    CryptoAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    OperationMeters getMeters() {
+        return meters;
+    }
+
+    int[] getParameterIndexes() {
+        return parameterIndexes;
+    }
+
+    boolean isThrowOnFailure() {
+        return throwOnFailure;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.encryption.aspect;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.metrics.EncryptionMetrics.OperationMeters;
+import com.example.encryption.util.CompressionUtils;
+
+/**
+ * Precomputed encryption settings for a method annotated with @Encrypt
+ */
+final class EncryptPlan {
+
+    private final String methodName;
+    private final CryptoAlgorithm algorithm;
+    private final OperationMeters meters;
+    private final Set<String> excludeFields;
+    private final boolean encryptEntireResponse;
+    private final int chunkSize;
+    private final CompressionUtils.Format compression;
+    private final boolean stream;
+    private final boolean returnsCompletionStage;
+    private final boolean returnsDeferredResult;
+    private final Duration cacheTtl;
+    private final String cacheName;
+    private final FieldEncryptor fieldEncryptor;
+
+    EncryptPlan(Method method, Encrypt encrypt, EncryptionMetrics metrics) {
+        this.methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        this.algorithm = CryptoAlgorithm.of(encrypt.algorithm());
+        this.meters = metrics.operationMeters(EncryptionMetrics.OPERATION_ENCRYPT, algorithm.name(), methodName);
+        this.excludeFields = Set.of(encrypt.excludeFields());
+        this.encryptEntireResponse = encrypt.encryptEntireResponse();
+        this.chunkSize = encrypt.chunkSize();
+        this.compression = CompressionUtils.Format.of(encrypt.compression());
+        this.stream = encrypt.stream();
+        if (chunkSize < 0 || (chunkSize > 0 && (algorithm != CryptoAlgorithm.AES || !encryptEntireResponse))) {
+            throw new EncryptionException("Invalid chunkSize on " + methodName
+                + ": chunked encryption requires a positive size, AES and encryptEntireResponse = true");
+        }
+        if (compression != CompressionUtils.Format.NONE && !encryptEntireResponse) {
+            throw new EncryptionException("Invalid compression on " + methodName
+                + ": compression requires encryptEntireResponse = true");
+        }
+        this.returnsCompletionStage = CompletionStage.class.isAssignableFrom(method.getReturnType());
+        this.returnsDeferredResult = DeferredResult.class.isAssignableFrom(method.getReturnType());
+        if (stream && (!encryptEntireResponse || chunkSize > 0)) {
+            throw new EncryptionException("Invalid stream on " + methodName
+                + ": streaming requires encryptEntireResponse = true and no chunkSize");
+        }
+        if (stream && !(returnsCompletionStage || returnsDeferredResult
+                || method.getReturnType().isAssignableFrom(ResponseEntity.class))) {
+            throw new EncryptionException("Invalid stream on " + methodName
+                + ": streaming methods must return ResponseEntity, CompletableFuture or DeferredResult");
+        }
+        this.cacheTtl = encrypt.cacheTtl().isEmpty() ? null : cacheTtl(encrypt.cacheTtl());
+        this.cacheName = encrypt.cacheName().isEmpty() ? methodName : encrypt.cacheName();
+        if (cacheTtl != null && (algorithm != CryptoAlgorithm.AES || !encryptEntireResponse || chunkSize > 0 || stream
+                || !ResponseEntity.class.isAssignableFrom(method.getReturnType()))) {
+            throw new EncryptionException("Invalid cacheTtl on " + methodName
+                + ": response caching requires AES, encryptEntireResponse = true, no chunkSize or stream"
+                + " and a ResponseEntity return type");
+        }
+        this.fieldEncryptor = encryptEntireResponse ? null : new FieldEncryptor(excludeFields);
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    CryptoAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    OperationMeters getMeters() {
+        return meters;
+    }
+
+    Set<String> getExcludeFields() {
+        return excludeFields;
+    }
+
+    boolean isEncryptEntireResponse() {
+        return encryptEntireResponse;
+    }
+
+    /**
+     * Number of collection elements per encrypted chunk, 0 when chunking is disabled
+     */
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    CompressionUtils.Format getCompression() {
+        return compression;
+    }
+
+    /**
+     * Whether the body is streamed as NDJSON, one encrypted record per line
+     */
+    boolean isStream() {
+        return stream;
+    }
+
+    /**
+     * Whether the method returns a CompletionStage, such as CompletableFuture
+     */
+    boolean isReturnsCompletionStage() {
+        return returnsCompletionStage;
+    }
+
+    boolean isReturnsDeferredResult() {
+        return returnsDeferredResult;
+    }
+
+    /**
+     * Time to live of cached encrypted responses, null when caching is disabled
+     */
+    Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Field encryptor for field-level mode, null when the entire response is encrypted
+     */
+    FieldEncryptor getFieldEncryptor() {
+        return fieldEncryptor;
+    }
+
+    private Duration cacheTtl(String value) {
+        Duration ttl;
+        try {
+            ttl = DurationStyle.detectAndParse(value);
+        } catch (IllegalArgumentException e) {
+            throw new EncryptionException("Invalid cacheTtl on " + methodName + ": " + value, e);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new EncryptionException("Invalid cacheTtl on " + methodName + ": must be positive");
+        }
+        return ttl;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.encryption.aspect;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.example.encryption.annotation.Decrypt;
+import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.metrics.EncryptionMetrics;
+
+/**
+ * Registry of precomputed @Encrypt/@Decrypt plans per method
+ *
+ * All request handler methods are scanned once at startup, so the aspect resolves
+ * annotation attributes, parameter indexes and algorithms with a single map lookup.
+ * Annotated methods outside of request handlers are planned on first use. Each plan
+ * carries its prebuilt meters, tagged with the method as endpoint.
+ */
+@Component
+public class EncryptionPlanRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncryptionPlanRegistry.class);
+
+    private final ApplicationContext applicationContext;
+    private final EncryptionMetrics metrics;
+
+    private final Map<Method, EncryptPlan> encryptPlans = new ConcurrentHashMap<>();
+    private final Map<Method, DecryptPlan> decryptPlans = new ConcurrentHashMap<>();
+
+    public EncryptionPlanRegistry(ApplicationContext applicationContext, EncryptionMetrics metrics) {
+        this.applicationContext = applicationContext;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (RequestMappingHandlerMapping mapping : applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                Method method = handlerMethod.getMethod();
+                if (encryptPlan(method) != null) {
+                    logger.debug("Registered @Encrypt plan for {}", method);
+                }
+                if (decryptPlan(method) != null) {
+                    logger.debug("Registered @Decrypt plan for {}", method);
+                }
+            }
+        }
+        logger.info("Encryption plans registered - encrypt: {}, decrypt: {}", encryptPlans.size(), decryptPlans.size());
+    }
+
+    /**
+     * Get the encryption plan for a method
+     *
+     * @param method Invoked method
+     * @return Encryption plan, or null if the method is not annotated with @Encrypt
+     */
+    EncryptPlan encryptPlan(Method method) {
+        EncryptPlan plan = encryptPlans.get(method);
+        if (plan == null) {
+            Encrypt encrypt = AnnotatedElementUtils.findMergedAnnotation(method, Encrypt.class);
+            if (encrypt == null) {
+                return null;
+            }
+            plan = encryptPlans.computeIfAbsent(method, m -> new EncryptPlan(m, encrypt, metrics));
+        }
+        return plan;
+    }
+
+    /**
+     * Get the decryption plan for a method
+     *
+     * @param method Invoked method
+     * @return Decryption plan, or null if the method is not annotated with @Decrypt
+     */
+    DecryptPlan decryptPlan(Method method) {
+        DecryptPlan plan = decryptPlans.get(method);
+        if (plan == null) {
+            Decrypt decrypt = AnnotatedElementUtils.findMergedAnnotation(method, Decrypt.class);
+            if (decrypt == null) {
+                return null;
+            }
+            plan = decryptPlans.computeIfAbsent(method, m -> new DecryptPlan(m, decrypt, metrics));
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.encryption.aspect;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.writer.FieldWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+
+/**
+ * Field-level encryption for @Encrypt(encryptEntireResponse = false)
+ *
+ * Each top-level property of the response object is serialized to JSON and encrypted
+ * on its own, except the properties listed in excludeFields, which stay in plain form.
+ * Collections, arrays and maps are handled element by element. Property values are read
+ * through Fastjson2's precompiled field writers, resolved once per class.
+ */
+final class FieldEncryptor {
+
+    private final Set<String> excludeFields;
+
+    private final ClassValue<FieldLayout> layouts = new ClassValue<>() {
+        @Override
+        protected FieldLayout computeValue(Class<?> type) {
+            return new FieldLayout(type, excludeFields);
+        }
+    };
+
+    FieldEncryptor(Set<String> excludeFields) {
+        this.excludeFields = excludeFields;
+    }
+
+    /**
+     * Encrypt the non-excluded properties of a response body
+     *
+     * @param body Response body
+     * @param encryptor Encrypts serialized JSON bytes into a Base64 string
+     * @return Map (or list of maps) of property names to plain or encrypted values
+     */
+    Object encryptFields(Object body, Function<byte[], String> encryptor) {
+        if (body instanceof Collection<?> collection) {
+            List<Object> encrypted = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                encrypted.add(encryptObject(element, encryptor));
+            }
+            return encrypted;
+        }
+        if (body.getClass().isArray()) {
+            int length = Array.getLength(body);
+            List<Object> encrypted = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                encrypted.add(encryptObject(Array.get(body, i), encryptor));
+            }
+            return encrypted;
+        }
+        return encryptObject(body, encryptor);
+    }
+
+    private Object encryptObject(Object value, Function<byte[], String> encryptor) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> encrypted = new LinkedHashMap<>(Math.max(16, map.size() * 2));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                encrypted.put(name, encryptValue(entry.getValue(), excludeFields.contains(name), encryptor));
+            }
+            return encrypted;
+        }
+
+        FieldLayout layout = layouts.get(value.getClass());
+        if (layout.fieldWriters.length == 0) {
+            // Scalars and other values without properties are encrypted as a whole
+            return encryptor.apply(JSON.toJSONBytes(value));
+        }
+
+        Map<String, Object> encrypted = new LinkedHashMap<>(Math.max(16, layout.fieldWriters.length * 2));
+        for (int i = 0; i < layout.fieldWriters.length; i++) {
+            FieldWriter<Object> fieldWriter = layout.fieldWriters[i];
+            Object fieldValue = fieldWriter.getFieldValue(value);
+            if (fieldValue != null) {
+                encrypted.put(fieldWriter.fieldName, encryptValue(fieldValue, layout.excluded[i], encryptor));
+            }
+        }
+        return encrypted;
+    }
+
+    private static Object encryptValue(Object value, boolean excluded, Function<byte[], String> encryptor) {
+        if (value == null || excluded) {
+            return value;
+        }
+        return encryptor.apply(JSON.toJSONBytes(value));
+    }
+
+    /**
+     * Field writers of a class together with which of them are excluded from encryption
+     */
+    private static final class FieldLayout {
+        private final FieldWriter<Object>[] fieldWriters;
+        private final boolean[] excluded;
+
+        @SuppressWarnings("unchecked")
+        FieldLayout(Class<?> type, Set<String> excludeFields) {
+            ObjectWriter<?> objectWriter = JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(type);
+            List<FieldWriter> writers = objectWriter.getFieldWriters();
+            this.fieldWriters = writers.toArray(new FieldWriter[0]);
+            this.excluded = new boolean[fieldWriters.length];
+            for (int i = 0; i < fieldWriters.length; i++) {
+                excluded[i] = excludeFields.contains(fieldWriters[i].fieldName);
+            }
+        }
+    }
+}
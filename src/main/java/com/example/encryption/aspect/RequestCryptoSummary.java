@@ -0,0 +1,73 @@
+package com.example.encryption.aspect;
+
+import java.util.Locale;
+
+/**
+ * Crypto work done by DataEncryptAspect during one request
+ *
+ * Only counters are updated on the hot path; the text is built once, when
+ * CryptoSummaryInterceptor logs the summary line after the request completes.
+ */
+final class RequestCryptoSummary {
+
+    static final String ATTRIBUTE = RequestCryptoSummary.class.getName();
+
+    private final Operation decrypt = new Operation("decrypt");
+    private final Operation encrypt = new Operation("encrypt");
+    private String methodName;
+
+    synchronized void recordDecrypt(String methodName, CryptoAlgorithm algorithm, long startNanos, long bytes) {
+        this.methodName = methodName;
+        decrypt.record(algorithm, startNanos, bytes);
+    }
+
+    synchronized void recordEncrypt(String methodName, CryptoAlgorithm algorithm, long startNanos, long bytes) {
+        this.methodName = methodName;
+        encrypt.record(algorithm, startNanos, bytes);
+    }
+
+    synchronized boolean isEmpty() {
+        return decrypt.count == 0 && encrypt.count == 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder(96).append(methodName).append(':');
+        decrypt.appendTo(builder);
+        encrypt.appendTo(builder);
+        return builder.toString();
+    }
+
+    private static final class Operation {
+        private final String name;
+        private CryptoAlgorithm algorithm;
+        private int count;
+        private long nanos;
+        private long bytes;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        void record(CryptoAlgorithm algorithm, long startNanos, long bytes) {
+            this.algorithm = algorithm;
+            this.count++;
+            this.nanos += System.nanoTime() - startNanos;
+            this.bytes += bytes;
+        }
+
+        /**
+         * Append e.g. " encrypt AES 1x 0.42 ms 1368 B"; sizes are omitted when unknown
+         */
+        void appendTo(StringBuilder builder) {
+            if (count == 0) {
+                return;
+            }
+            builder.append(' ').append(name).append(' ').append(algorithm).append(' ').append(count).append("x ")
+                .append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0)).append(" ms");
+            if (bytes > 0) {
+                builder.append(' ').append(bytes).append(" B");
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.encryption.async;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Bounded executor for CPU-bound encryption work taken off the request threads
+ *
+ * The pool defaults to one thread per available processor, so crypto parallelism stays
+ * capped at the CPU count however many asynchronous requests are in flight. Tasks wait in
+ * a bounded queue; when it is full the task is rejected and its future fails, rather than
+ * queueing without limit or running on the thread that completed the source future.
+ */
+@Component
+public class CryptoExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejections = new LongAdder();
+
+    public CryptoExecutor(EncryptionProperties encryptionProperties) {
+        EncryptionProperties.AsyncProperties async = encryptionProperties.getAsync();
+        int threads = async.getThreads() > 0 ? async.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(async.getQueueCapacity()), runnable -> {
+                Thread thread = new Thread(runnable, "crypto-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Run a task on a crypto thread
+     *
+     * @param task Encryption work
+     * @return Future completing with the task result, or failed with an EncryptionException
+     *         if the queue is full
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(new EncryptionException("Crypto executor queue is full", e));
+        }
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejections.sum();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
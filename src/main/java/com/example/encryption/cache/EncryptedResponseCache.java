@@ -0,0 +1,278 @@
+package com.example.encryption.cache;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Bounded cache of encrypted responses for @Encrypt(cacheTtl = ...) endpoints
+ *
+ * Entries are keyed by cache name, method arguments and AES key version, so a key rotation
+ * never serves ciphertext under a retired key. Only ciphertext is kept, never plaintext.
+ * The cache is bounded by the estimated memory of its entries
+ * ({@code encryption.cache.max-size}); the least recently used entries are evicted first
+ * and expired entries are dropped when looked up.
+ *
+ * ETags are a keyed hash of the key version and the plaintext JSON, so they stay the same
+ * while the data does, even though encryption with a random IV produces different
+ * ciphertext each time. The hash key is random per instance, so ETags reveal nothing about
+ * the plaintext and change on restart.
+ */
+@Component
+public class EncryptedResponseCache {
+
+    /** Estimated bytes per entry besides the ciphertext: key, headers, ETag and map node */
+    static final int ENTRY_OVERHEAD = 256;
+
+    private static final String ETAG_ALGORITHM = "HmacSHA256";
+    private static final int ETAG_HASH_BYTES = 12;
+
+    private final long maxSizeBytes;
+    private final Mac etagMac;
+    private final Map<Key, Node> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EncryptedResponseCache(EncryptionProperties encryptionProperties) {
+        this.maxSizeBytes = encryptionProperties.getCache().getMaxSize().toBytes();
+        byte[] etagKey = new byte[32];
+        new SecureRandom().nextBytes(etagKey);
+        try {
+            this.etagMac = Mac.getInstance(ETAG_ALGORITHM);
+            this.etagMac.init(new SecretKeySpec(etagKey, ETAG_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to initialize response cache ETags", e);
+        }
+    }
+
+    /**
+     * Cache key of one endpoint invocation
+     *
+     * @param cacheName Cache name of the endpoint
+     * @param args Method arguments; they must implement equals and hashCode to get hits
+     * @param keyVersion AES key version the response is encrypted with
+     * @return Key for get and put
+     */
+    public Key key(String cacheName, Object[] args, int keyVersion) {
+        return new Key(cacheName, Arrays.asList(args.clone()), keyVersion);
+    }
+
+    /**
+     * Look up a response that has not expired
+     *
+     * @return Cached response, or null on a miss
+     */
+    public CachedResponse get(Key key) {
+        synchronized (entries) {
+            Node node = entries.get(key);
+            if (node != null && node.expiresAt - System.nanoTime() <= 0) {
+                remove(key);
+                node = null;
+            }
+            if (node == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return node.response;
+        }
+    }
+
+    /**
+     * Cache a response for the given time, evicting the least recently used entries
+     * beyond the size limit; responses larger than the limit are not cached
+     *
+     * @return The response
+     */
+    public CachedResponse put(Key key, CachedResponse response, Duration ttl) {
+        long weight = weight(response);
+        if (weight > maxSizeBytes) {
+            return response;
+        }
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, new Node(response, System.nanoTime() + ttl.toNanos(), weight));
+            sizeBytes += weight;
+            Iterator<Node> eldest = entries.values().iterator();
+            while (sizeBytes > maxSizeBytes && eldest.hasNext()) {
+                sizeBytes -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drop every cached response of a cache, for all arguments
+     *
+     * @param cacheName Cache name given in @Encrypt(cacheName)
+     */
+    public void invalidate(String cacheName) {
+        synchronized (entries) {
+            removeIf(key -> key.cacheName.equals(cacheName));
+        }
+    }
+
+    /**
+     * Drop the cached responses of a cache for one set of method arguments, under any key version
+     *
+     * @param cacheName Cache name given in @Encrypt(cacheName)
+     * @param args Method arguments of the cached invocation, in parameter order
+     */
+    public void invalidate(String cacheName, Object... args) {
+        List<Object> argList = Arrays.asList(args);
+        synchronized (entries) {
+            removeIf(key -> key.cacheName.equals(cacheName) && key.args.equals(argList));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            sizeBytes = 0;
+        }
+    }
+
+    /**
+     * Weak ETag of a plaintext response under a key version
+     *
+     * @param key Cache key of the response
+     * @param json Plaintext JSON of the response body
+     * @return ETag value, including the W/ prefix and quotes
+     */
+    public String etag(Key key, byte[] json) {
+        Mac mac;
+        try {
+            mac = (Mac) etagMac.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new EncryptionException("Failed to compute response ETag", e);
+        }
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(key.keyVersion).array());
+        byte[] hash = mac.doFinal(json);
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Arrays.copyOf(hash, ETAG_HASH_BYTES)) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches an ETag, using weak comparison
+     *
+     * @param ifNoneMatch Header value, may be null
+     * @param etag ETag of the current response
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Share of lookups served from the cache, 0 before the first lookup
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Estimated memory held by cached entries, in bytes
+     */
+    public long getSizeBytes() {
+        synchronized (entries) {
+            return sizeBytes;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(Key key) {
+        Node removed = entries.remove(key);
+        if (removed != null) {
+            sizeBytes -= removed.weight;
+        }
+    }
+
+    private void removeIf(Predicate<Key> predicate) {
+        Iterator<Map.Entry<Key, Node>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Node> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                sizeBytes -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long weight(CachedResponse response) {
+        return ENTRY_OVERHEAD + (response.ciphertext() != null ? response.ciphertext().length : 0);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Cache key: cache name, method arguments and AES key version
+     */
+    public record Key(String cacheName, List<Object> args, int keyVersion) {
+    }
+
+    /**
+     * Status, headers, raw ciphertext and ETag of an encrypted response
+     *
+     * The ciphertext is null when the response was first requested by a client that already
+     * held it (If-None-Match matched), so nothing was encrypted; such entries only answer
+     * conditional requests.
+     */
+    public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] ciphertext, String etag) {
+    }
+
+    private record Node(CachedResponse response, long expiresAt, long weight) {
+    }
+}
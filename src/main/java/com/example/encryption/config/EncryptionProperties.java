@@ -1,13 +1,21 @@
 package com.example.encryption.config;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 /**
  * Configuration properties for encryption settings
@@ -18,6 +26,14 @@ public class EncryptionProperties {
 
     private AesProperties aes = new AesProperties();
     private RsaProperties rsa = new RsaProperties();
+    private CompressionProperties compression = new CompressionProperties();
+    private FileProperties file = new FileProperties();
+    private AsyncProperties async = new AsyncProperties();
+    private LoggingProperties logging = new LoggingProperties();
+    private CacheProperties cache = new CacheProperties();
+    private SignatureProperties signature = new SignatureProperties();
+    private ProviderProperties provider = new ProviderProperties();
+    private SessionProperties session = new SessionProperties();
     private List<String> enabledPaths = List.of("/api/v1/**");
     private List<String> excludedPaths = List.of("/actuator/**", "/swagger-ui/**");
     private boolean debugMode = false;
@@ -39,6 +55,70 @@ public class EncryptionProperties {
         this.rsa = rsa;
     }
 
+    public CompressionProperties getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionProperties compression) {
+        this.compression = compression;
+    }
+
+    public FileProperties getFile() {
+        return file;
+    }
+
+    public void setFile(FileProperties file) {
+        this.file = file;
+    }
+
+    public AsyncProperties getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncProperties async) {
+        this.async = async;
+    }
+
+    public LoggingProperties getLogging() {
+        return logging;
+    }
+
+    public void setLogging(LoggingProperties logging) {
+        this.logging = logging;
+    }
+
+    public CacheProperties getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheProperties cache) {
+        this.cache = cache;
+    }
+
+    public SignatureProperties getSignature() {
+        return signature;
+    }
+
+    public void setSignature(SignatureProperties signature) {
+        this.signature = signature;
+    }
+
+    public ProviderProperties getProvider() {
+        return provider;
+    }
+
+    public void setProvider(ProviderProperties provider) {
+        this.provider = provider;
+    }
+
+    public SessionProperties getSession() {
+        return session;
+    }
+
+    public void setSession(SessionProperties session) {
+        this.session = session;
+    }
+
     public List<String> getEnabledPaths() {
         return enabledPaths;
     }
@@ -75,6 +155,9 @@ public class EncryptionProperties {
         
         private boolean enabled = true;
 
+        /** Versioned keys used instead of the key above once a key ring location is set */
+        private KeyRingProperties keyRing = new KeyRingProperties();
+
         // Getters and Setters
         public String getKey() {
             return key;
@@ -99,6 +182,66 @@ public class EncryptionProperties {
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
         }
+
+        public KeyRingProperties getKeyRing() {
+            return keyRing;
+        }
+
+        public void setKeyRing(KeyRingProperties keyRing) {
+            this.keyRing = keyRing;
+        }
+    }
+
+    /**
+     * AES key ring properties
+     */
+    public static class KeyRingProperties {
+        /** Properties file of version=Base64 key lines, or a PKCS12/JKS/JCEKS keystore; disabled if blank */
+        private String location;
+
+        /** Keystore and key password, unused for properties files */
+        private String password;
+
+        /** How often the key ring file is checked for changes */
+        @NotNull(message = "Key ring reload interval cannot be null")
+        private Duration reloadInterval = Duration.ofSeconds(30);
+
+        /** Maximum ciphertexts re-encrypted per second by the re-encryption job */
+        @Positive(message = "Re-encryption rate must be positive")
+        private int reencryptRate = 100;
+
+        // Getters and Setters
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Duration getReloadInterval() {
+            return reloadInterval;
+        }
+
+        public void setReloadInterval(Duration reloadInterval) {
+            this.reloadInterval = reloadInterval;
+        }
+
+        public int getReencryptRate() {
+            return reencryptRate;
+        }
+
+        public void setReencryptRate(int reencryptRate) {
+            this.reencryptRate = reencryptRate;
+        }
     }
 
     /**
@@ -113,6 +256,29 @@ public class EncryptionProperties {
         
         private boolean enabled = true;
 
+        @Positive(message = "RSA key cache size must be positive")
+        private int keyCacheSize = 64;
+
+        /** Pre-generated key pairs kept ready for generateKeyPair; 0 always generates synchronously */
+        @PositiveOrZero(message = "RSA key pool size cannot be negative")
+        private int keyPoolSize = 8;
+
+        /** Background threads refilling the key pair pool */
+        @Positive(message = "RSA key pool threads must be positive")
+        private int keyPoolThreads = 1;
+
+        /** Base64 encoded server key pair used for envelope decryption; generated at startup if blank */
+        private String publicKey;
+        private String privateKey;
+
+        /** Request header carrying the client public key for RSA envelope responses */
+        @NotBlank(message = "Client key header cannot be blank")
+        private String clientKeyHeader = "X-Client-Public-Key";
+
+        /** How long a wrapped envelope data key is reused for the same recipient */
+        @NotNull(message = "Envelope key TTL cannot be null")
+        private Duration envelopeKeyTtl = Duration.ofMinutes(10);
+
         // Getters and Setters
         public int getKeySize() {
             return keySize;
@@ -137,5 +303,315 @@ public class EncryptionProperties {
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
         }
+
+        public int getKeyCacheSize() {
+            return keyCacheSize;
+        }
+
+        public void setKeyCacheSize(int keyCacheSize) {
+            this.keyCacheSize = keyCacheSize;
+        }
+
+        public int getKeyPoolSize() {
+            return keyPoolSize;
+        }
+
+        public void setKeyPoolSize(int keyPoolSize) {
+            this.keyPoolSize = keyPoolSize;
+        }
+
+        public int getKeyPoolThreads() {
+            return keyPoolThreads;
+        }
+
+        public void setKeyPoolThreads(int keyPoolThreads) {
+            this.keyPoolThreads = keyPoolThreads;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getClientKeyHeader() {
+            return clientKeyHeader;
+        }
+
+        public void setClientKeyHeader(String clientKeyHeader) {
+            this.clientKeyHeader = clientKeyHeader;
+        }
+
+        public Duration getEnvelopeKeyTtl() {
+            return envelopeKeyTtl;
+        }
+
+        public void setEnvelopeKeyTtl(Duration envelopeKeyTtl) {
+            this.envelopeKeyTtl = envelopeKeyTtl;
+        }
+    }
+
+    /**
+     * Compression properties for @Encrypt endpoints that enable compression
+     */
+    public static class CompressionProperties {
+        /** Minimum plaintext size in bytes before compression is attempted */
+        @PositiveOrZero(message = "Compression threshold cannot be negative")
+        private int threshold = 1024;
+
+        /** Deflate level from 1 (fastest) to 9 (smallest) */
+        @Min(value = 1, message = "Compression level must be between 1 and 9")
+        @Max(value = 9, message = "Compression level must be between 1 and 9")
+        private int level = 1;
+
+        // Getters and Setters
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * File encryption properties, using the AES key configured above
+     */
+    public static class FileProperties {
+        /** Plaintext bytes per independently encrypted segment */
+        @NotNull(message = "File segment size cannot be null")
+        private DataSize segmentSize = DataSize.ofMegabytes(1);
+
+        // Getters and Setters
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+    }
+
+    /**
+     * Crypto executor properties for @Encrypt methods returning CompletableFuture or DeferredResult
+     */
+    public static class AsyncProperties {
+        /** Crypto worker threads; 0 uses one per available processor */
+        @PositiveOrZero(message = "Crypto executor threads cannot be negative")
+        private int threads = 0;
+
+        /** Encryption tasks waiting for a worker before new ones are rejected */
+        @Positive(message = "Crypto executor queue capacity must be positive")
+        private int queueCapacity = 1000;
+
+        // Getters and Setters
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Logging properties for the per-request crypto summary of the AOP endpoints
+     */
+    public static class LoggingProperties {
+        /** Fraction of requests, from 0 to 1, whose crypto summary line is logged */
+        @DecimalMin(value = "0.0", message = "Summary sample rate must be between 0 and 1")
+        @DecimalMax(value = "1.0", message = "Summary sample rate must be between 0 and 1")
+        private double summarySampleRate = 1.0;
+
+        // Getters and Setters
+        public double getSummarySampleRate() {
+            return summarySampleRate;
+        }
+
+        public void setSummarySampleRate(double summarySampleRate) {
+            this.summarySampleRate = summarySampleRate;
+        }
+    }
+
+    /**
+     * Encrypted response cache properties for @Encrypt(cacheTtl = ...) endpoints
+     */
+    public static class CacheProperties {
+        /** Estimated memory of cached ciphertext before least recently used entries are evicted; 0 disables caching */
+        @NotNull(message = "Response cache max size cannot be null")
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+
+        // Getters and Setters
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Digital signature properties for SignatureUtils
+     */
+    public static class SignatureProperties {
+        /** Default scheme: SHA256withRSA, RSASSA-PSS, SHA256withECDSA or Ed25519 */
+        @NotBlank(message = "Signature algorithm cannot be blank")
+        private String algorithm = "SHA256withRSA";
+
+        /** Parsed public and private keys kept per key type (LRU) */
+        @Positive(message = "Signature key cache size must be positive")
+        private int keyCacheSize = 64;
+
+        // Getters and Setters
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getKeyCacheSize() {
+            return keyCacheSize;
+        }
+
+        public void setKeyCacheSize(int keyCacheSize) {
+            this.keyCacheSize = keyCacheSize;
+        }
+    }
+
+    /**
+     * JCA provider selection for AES and RSA ciphers (CryptoProviders)
+     */
+    public static class ProviderProperties {
+        /** Provider for AES ciphers: a provider name such as SunJCE or BC, default, or auto to calibrate at startup */
+        @NotBlank(message = "AES provider cannot be blank")
+        private String aes = "default";
+
+        /** Provider for RSA ciphers: a provider name such as SunJCE or BC, default, or auto to calibrate at startup */
+        @NotBlank(message = "RSA provider cannot be blank")
+        private String rsa = "default";
+
+        /** Providers measured when aes or rsa is auto */
+        @NotEmpty(message = "Provider candidates cannot be empty")
+        private List<String> candidates = List.of("SunJCE", "BC");
+
+        /** Measuring time per candidate and operation, after a warm-up of the same length */
+        @NotNull(message = "Calibration time cannot be null")
+        private Duration calibrationTime = Duration.ofMillis(200);
+
+        // Getters and Setters
+        public String getAes() {
+            return aes;
+        }
+
+        public void setAes(String aes) {
+            this.aes = aes;
+        }
+
+        public String getRsa() {
+            return rsa;
+        }
+
+        public void setRsa(String rsa) {
+            this.rsa = rsa;
+        }
+
+        public List<String> getCandidates() {
+            return candidates;
+        }
+
+        public void setCandidates(List<String> candidates) {
+            this.candidates = candidates;
+        }
+
+        public Duration getCalibrationTime() {
+            return calibrationTime;
+        }
+
+        public void setCalibrationTime(Duration calibrationTime) {
+            this.calibrationTime = calibrationTime;
+        }
+    }
+
+    /**
+     * ECDH session key properties (SessionKeyStore)
+     */
+    public static class SessionProperties {
+        /** Key agreement curve: X25519 or secp256r1 */
+        @NotBlank(message = "Session curve cannot be blank")
+        private String curve = "X25519";
+
+        /** Request header carrying the session ID returned by the handshake */
+        @NotBlank(message = "Session header cannot be blank")
+        private String header = "X-Session-Id";
+
+        /** Lifetime of a session key, after which the client repeats the handshake */
+        @NotNull(message = "Session TTL cannot be null")
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /** Live sessions kept in memory; handshakes beyond this are refused */
+        @Positive(message = "Max sessions must be positive")
+        private int maxSessions = 100_000;
+
+        // Getters and Setters
+        public String getCurve() {
+            return curve;
+        }
+
+        public void setCurve(String curve) {
+            this.curve = curve;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public void setMaxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.example.encryption.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.encryption.aspect.CryptoSummaryInterceptor;
+import com.example.encryption.converter.BinaryCiphertextHttpMessageConverter;
+import com.example.encryption.converter.EncryptedNdjsonHttpMessageConverter;
+import com.example.encryption.converter.EncryptingHttpMessageConverter;
+import com.example.encryption.util.AESUtils;
+
+/**
+ * Spring MVC configuration for the MessageConverter based encryption approach, the
+ * binary ciphertext and NDJSON streaming formats and the crypto summary log of the AOP endpoints
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AESUtils aesUtils;
+    private final CryptoSummaryInterceptor cryptoSummaryInterceptor;
+
+    public WebMvcConfig(AESUtils aesUtils, CryptoSummaryInterceptor cryptoSummaryInterceptor) {
+        this.aesUtils = aesUtils;
+        this.cryptoSummaryInterceptor = cryptoSummaryInterceptor;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Registered first so String bodies negotiated as encrypted JSON or binary
+        // ciphertext are not claimed by StringHttpMessageConverter
+        converters.add(0, new EncryptingHttpMessageConverter(aesUtils));
+        converters.add(1, new BinaryCiphertextHttpMessageConverter());
+        converters.add(2, new EncryptedNdjsonHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(cryptoSummaryInterceptor);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.encryption.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,13 +15,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.alibaba.fastjson2.JSON;
 import com.example.encryption.annotation.Decrypt;
 import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.cache.EncryptedResponseCache;
 import com.example.encryption.dto.UserProfile;
 import com.example.encryption.dto.UserRegisterRequest;
 import com.example.encryption.dto.UserRegisterResponse;
+import com.example.encryption.util.EnvelopeUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +46,30 @@ public class AopEncryptionController {
 
     private static final Logger logger = LoggerFactory.getLogger(AopEncryptionController.class);
 
+    private static final int MAX_EXPORT_SIZE = 1_000_000;
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_STREAM_SIZE = 100_000_000;
+    private static final String PROFILE_CACHE = "profile";
+    private static final String USERS_CACHE = "users";
+
+    private final EnvelopeUtils envelopeUtils;
+    private final EncryptedResponseCache responseCache;
+
+    public AopEncryptionController(EnvelopeUtils envelopeUtils, EncryptedResponseCache responseCache) {
+        this.envelopeUtils = envelopeUtils;
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping("/public-key")
+    @Operation(
+        summary = "Get server RSA public key",
+        description = "Returns the public key clients use to build RSA envelopes for @Decrypt(algorithm = \"RSA\") endpoints"
+    )
+    @ApiResponse(responseCode = "200", description = "Public key returned successfully")
+    public ResponseEntity<Map<String, String>> getPublicKey() {
+        return ResponseEntity.ok(Map.of("publicKey", envelopeUtils.getServerPublicKey()));
+    }
+
     @PostMapping("/register")
     @Decrypt(throwOnFailure = true, parameterIndex = 0)
     @Operation(
@@ -92,12 +123,14 @@ public class AopEncryptionController {
     }
 
     @GetMapping("/profile")
-    @Encrypt(algorithm = "AES", encryptEntireResponse = true)
+    @Encrypt(algorithm = "AES", encryptEntireResponse = true, cacheTtl = "30s", cacheName = PROFILE_CACHE)
     @Operation(
         summary = "Get user profile (encrypted response)",
-        description = "Returns user profile data encrypted using AES algorithm"
+        description = "Returns user profile data encrypted using AES algorithm; the encrypted response is cached "
+            + "for 30 seconds and carries an ETag for conditional requests"
     )
     @ApiResponse(responseCode = "200", description = "User profile retrieved and encrypted successfully")
+    @ApiResponse(responseCode = "304", description = "Profile unchanged since the ETag sent in If-None-Match")
     @ApiResponse(responseCode = "404", description = "User not found")
     public ResponseEntity<UserProfile> getProfile(
             @Parameter(description = "User ID to retrieve profile for")
@@ -120,6 +153,27 @@ public class AopEncryptionController {
         }
     }
 
+    @GetMapping("/profile-fields")
+    @Encrypt(
+        algorithm = "AES",
+        encryptEntireResponse = false,
+        excludeFields = {"userId", "status", "createdAt", "lastLoginAt", "roles", "preferences"}
+    )
+    @Operation(
+        summary = "Get user profile (field-level encryption)",
+        description = "Returns user profile with only sensitive fields encrypted; non-sensitive fields stay in plain form"
+    )
+    @ApiResponse(responseCode = "200", description = "User profile retrieved with sensitive fields encrypted")
+    public ResponseEntity<UserProfile> getProfileFields(
+            @Parameter(description = "User ID to retrieve profile for")
+            @RequestParam String userId) {
+        
+        logger.info("Retrieving field-encrypted user profile for: {}", userId);
+
+        // username, email and phoneNumber will be encrypted individually by the @Encrypt aspect
+        return ResponseEntity.ok(createSampleUserProfile(userId));
+    }
+
     @PostMapping("/update-profile")
     @Decrypt(throwOnFailure = true, parameterIndex = 0)
     @Encrypt(algorithm = "AES")
@@ -143,6 +197,10 @@ public class AopEncryptionController {
 
             // Simulate profile update logic
             UserProfile updatedProfile = updateUserProfile(profileUpdate);
+
+            // Cached encrypted responses containing this user are stale now
+            responseCache.invalidate(PROFILE_CACHE, profileUpdate.getUserId());
+            responseCache.invalidate(USERS_CACHE);
             
             logger.info("Profile updated successfully for user: {}", profileUpdate.getUserId());
             
@@ -156,12 +214,14 @@ public class AopEncryptionController {
     }
 
     @GetMapping("/users")
-    @Encrypt(algorithm = "AES")
+    @Encrypt(algorithm = "AES", cacheTtl = "30s", cacheName = USERS_CACHE)
     @Operation(
         summary = "Get all users (encrypted response)",
-        description = "Returns list of all users with encrypted response"
+        description = "Returns list of all users with encrypted response; the encrypted response is cached "
+            + "for 30 seconds and carries an ETag for conditional requests"
     )
     @ApiResponse(responseCode = "200", description = "Users list retrieved and encrypted successfully")
+    @ApiResponse(responseCode = "304", description = "Users unchanged since the ETag sent in If-None-Match")
     public ResponseEntity<List<UserProfile>> getAllUsers() {
         logger.info("Retrieving all users");
 
@@ -182,6 +242,77 @@ public class AopEncryptionController {
         }
     }
 
+    @GetMapping("/users/export")
+    @Encrypt(algorithm = "AES", chunkSize = EXPORT_CHUNK_SIZE, compression = "GZIP")
+    @Operation(
+        summary = "Export users (chunked encrypted response)",
+        description = "Returns a JSON array of AES encrypted chunks; each chunk decrypts to a JSON array of up to "
+            + EXPORT_CHUNK_SIZE + " users, gzip compressed when large enough, and can be decrypted independently"
+    )
+    @ApiResponse(responseCode = "200", description = "Users exported and encrypted in chunks successfully")
+    public ResponseEntity<List<UserProfile>> exportUsers(
+            @Parameter(description = "Number of users to export")
+            @RequestParam(defaultValue = "3") int count) {
+        int size = Math.max(0, Math.min(count, MAX_EXPORT_SIZE));
+        logger.info("Exporting {} users in encrypted chunks", size);
+
+        return ResponseEntity.ok(createSampleUsers(size));
+    }
+
+    @GetMapping("/users/stream")
+    @Encrypt(algorithm = "AES", stream = true)
+    @Operation(
+        summary = "Stream users (NDJSON, one encrypted record per line)",
+        description = "Streams application/x-ndjson with chunked transfer encoding; every line is the Base64 AES "
+            + "ciphertext of one user's JSON. Users are generated lazily while the response is written"
+    )
+    @ApiResponse(responseCode = "200", description = "Users streamed and encrypted record by record")
+    public ResponseEntity<Stream<UserProfile>> streamUsers(
+            @Parameter(description = "Number of users to stream")
+            @RequestParam(defaultValue = "3") int count) {
+        int size = Math.max(0, Math.min(count, MAX_STREAM_SIZE));
+        logger.info("Streaming {} users as encrypted NDJSON", size);
+
+        // Simulate a database cursor: users are created one at a time as the response is written
+        return ResponseEntity.ok(IntStream.rangeClosed(1, size).mapToObj(i -> createSampleUserProfile("user" + i)));
+    }
+
+    @GetMapping("/async/profile")
+    @Encrypt(algorithm = "AES")
+    @Operation(
+        summary = "Get user profile asynchronously (encrypted response)",
+        description = "Returns a CompletableFuture; the profile is encrypted on the crypto executor once it completes, "
+            + "so no request thread waits for the lookup or the encryption"
+    )
+    @ApiResponse(responseCode = "200", description = "User profile retrieved and encrypted successfully")
+    public CompletableFuture<ResponseEntity<UserProfile>> getProfileAsync(
+            @Parameter(description = "User ID to retrieve profile for")
+            @RequestParam String userId) {
+        logger.info("Retrieving user profile asynchronously for: {}", userId);
+
+        // Simulate a non-blocking lookup completing on another thread
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(createSampleUserProfile(userId)));
+    }
+
+    @GetMapping("/async/users/export")
+    @Encrypt(algorithm = "AES", chunkSize = EXPORT_CHUNK_SIZE, compression = "GZIP")
+    @Operation(
+        summary = "Export users asynchronously (chunked encrypted response)",
+        description = "Same chunks as /users/export, returned through a DeferredResult and encrypted on the crypto executor"
+    )
+    @ApiResponse(responseCode = "200", description = "Users exported and encrypted in chunks successfully")
+    public DeferredResult<List<UserProfile>> exportUsersAsync(
+            @Parameter(description = "Number of users to export")
+            @RequestParam(defaultValue = "3") int count) {
+        int size = Math.max(0, Math.min(count, MAX_EXPORT_SIZE));
+        logger.info("Exporting {} users asynchronously in encrypted chunks", size);
+
+        // Simulate a result delivered later by another component, such as a message listener
+        DeferredResult<List<UserProfile>> result = new DeferredResult<>();
+        CompletableFuture.runAsync(() -> result.setResult(createSampleUsers(size)));
+        return result;
+    }
+
     // Helper methods
     private String generateToken(String userId) {
         return "token_" + userId + "_" + System.currentTimeMillis();
@@ -199,6 +330,12 @@ public class AopEncryptionController {
         return profile;
     }
 
+    private List<UserProfile> createSampleUsers(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> createSampleUserProfile("user" + i))
+            .toList();
+    }
+
     private UserProfile updateUserProfile(UserProfile profileUpdate) {
         // Simulate profile update logic
         profileUpdate.setStatus("UPDATED");
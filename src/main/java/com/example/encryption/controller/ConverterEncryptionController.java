@@ -0,0 +1,79 @@
+package com.example.encryption.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.encryption.converter.EncryptingHttpMessageConverter;
+import com.example.encryption.dto.UserProfile;
+import com.example.encryption.dto.UserRegisterRequest;
+import com.example.encryption.dto.UserRegisterResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller demonstrating MessageConverter-based encryption/decryption approach
+ *
+ * Request and response bodies use the {@code application/vnd.encrypted+json} media type
+ * and are converted by EncryptingHttpMessageConverter, so handlers bind and return
+ * plain DTOs.
+ */
+@RestController
+@RequestMapping("/api/converter")
+@Tag(name = "MessageConverter Encryption", description = "Demonstrates encryption/decryption fused into message conversion")
+public class ConverterEncryptionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConverterEncryptionController.class);
+
+    @PostMapping(
+        value = "/register",
+        consumes = EncryptingHttpMessageConverter.ENCRYPTED_JSON_VALUE,
+        produces = EncryptingHttpMessageConverter.ENCRYPTED_JSON_VALUE
+    )
+    @Operation(
+        summary = "Register user (converter encrypted)",
+        description = "Request and response bodies are Base64 encoded AES encrypted JSON handled by the message converter"
+    )
+    @ApiResponse(responseCode = "200", description = "User registered successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid encrypted data or validation error")
+    public ResponseEntity<UserRegisterResponse> register(@Valid @RequestBody UserRegisterRequest request) {
+        logger.info("Processing converter-encrypted registration for user: {}", request.getUserId());
+
+        UserRegisterResponse response = new UserRegisterResponse(
+            "User registered successfully",
+            request.getUserId(),
+            true,
+            "token_" + request.getUserId() + "_" + System.currentTimeMillis()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/profile", produces = EncryptingHttpMessageConverter.ENCRYPTED_JSON_VALUE)
+    @Operation(
+        summary = "Get user profile (converter encrypted)",
+        description = "Returns user profile data serialized and encrypted in a single pass"
+    )
+    @ApiResponse(responseCode = "200", description = "User profile retrieved and encrypted successfully")
+    public ResponseEntity<UserProfile> getProfile(
+            @Parameter(description = "User ID to retrieve profile for")
+            @RequestParam String userId) {
+        logger.info("Retrieving converter-encrypted profile for: {}", userId);
+
+        UserProfile profile = new UserProfile(userId, "User " + userId, userId + "@example.com", "138****1234");
+        profile.setRoles(List.of("USER", "CUSTOMER"));
+        profile.setPreferences(new UserProfile.UserPreferences("en", "UTC", true, false));
+        return ResponseEntity.ok(profile);
+    }
+}
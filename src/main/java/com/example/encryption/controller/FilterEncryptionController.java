@@ -0,0 +1,78 @@
+package com.example.encryption.controller;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.encryption.dto.UserProfile;
+import com.example.encryption.dto.UserRegisterRequest;
+import com.example.encryption.dto.UserRegisterResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller demonstrating filter-based encryption/decryption approach
+ *
+ * This controller works with plain DTOs only. Request and response bodies under
+ * /api/filter are decrypted and encrypted by DataEncryptFilter based on the
+ * configured enabled/excluded path patterns.
+ */
+@RestController
+@RequestMapping("/api/filter")
+@Tag(name = "Filter Encryption", description = "Demonstrates path-based encryption/decryption with a servlet filter")
+public class FilterEncryptionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilterEncryptionController.class);
+
+    private static final int MAX_EXPORT_SIZE = 1_000_000;
+
+    @PostMapping("/user")
+    @Operation(
+        summary = "Register user (filter encrypted)",
+        description = "Request body is Base64 encoded AES encrypted JSON, decrypted by the filter before binding"
+    )
+    @ApiResponse(responseCode = "200", description = "User registered successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid encrypted data or validation error")
+    public ResponseEntity<UserRegisterResponse> registerUser(@Valid @RequestBody UserRegisterRequest request) {
+        logger.info("Processing filter-encrypted registration for user: {}", request.getUserId());
+
+        UserRegisterResponse response = new UserRegisterResponse(
+            "User registered successfully",
+            request.getUserId(),
+            true,
+            "token_" + request.getUserId() + "_" + System.currentTimeMillis()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/users")
+    @Operation(
+        summary = "Export users (filter encrypted)",
+        description = "Returns a user list that the filter encrypts while it is being written"
+    )
+    @ApiResponse(responseCode = "200", description = "Users exported and encrypted successfully")
+    public ResponseEntity<List<UserProfile>> exportUsers(
+            @Parameter(description = "Number of users to export")
+            @RequestParam(defaultValue = "3") int count) {
+        int size = Math.max(0, Math.min(count, MAX_EXPORT_SIZE));
+        logger.info("Exporting {} users through the encryption filter", size);
+
+        List<UserProfile> users = IntStream.rangeClosed(1, size)
+            .mapToObj(i -> new UserProfile("user" + i, "User user" + i, "user" + i + "@example.com", "138****1234"))
+            .toList();
+        return ResponseEntity.ok(users);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.encryption.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.SessionKeyStore;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller for the ECDH handshake that establishes per-client AES session keys
+ *
+ * After the handshake, clients send the session ID in the session header
+ * ({@code encryption.session.header}) and AES @Encrypt/@Decrypt endpoints use their
+ * session key instead of the shared key.
+ *
+ * The handshake answer is signed with the server RSA key published at
+ * {@code /api/aop/public-key} (see SessionKeyStore for the signed transcript). Clients must
+ * verify the signature against a copy of that key obtained in advance; an unverified
+ * handshake gives no protection against an active man-in-the-middle.
+ */
+@RestController
+@RequestMapping("/api/session")
+@Tag(name = "Session Keys", description = "ECDH handshake for per-client AES-GCM session keys")
+public class SessionController {
+
+    private final SessionKeyStore sessionKeyStore;
+
+    public SessionController(SessionKeyStore sessionKeyStore) {
+        this.sessionKeyStore = sessionKeyStore;
+    }
+
+    @PostMapping("/handshake")
+    @Operation(
+        summary = "Agree a session key",
+        description = "Takes the client's ephemeral Base64 X.509 public key ({\"publicKey\": ...}) and returns the "
+            + "server's ephemeral public key, the HKDF-SHA256 salt and the session ID, signed with RSASSA-PSS by the "
+            + "server RSA key from /api/aop/public-key. Clients must verify the signature before deriving the "
+            + "AES-256-GCM session key from the ECDH shared secret"
+    )
+    @ApiResponse(responseCode = "200", description = "Session established")
+    @ApiResponse(responseCode = "400", description = "Missing or invalid client public key, or too many active sessions")
+    public ResponseEntity<?> handshake(@RequestBody Map<String, String> request) {
+        try {
+            return ResponseEntity.ok(sessionKeyStore.handshake(request.get("publicKey")));
+        } catch (EncryptionException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping
+    @Operation(summary = "End a session", description = "Discards the session key named by the session header")
+    @ApiResponse(responseCode = "204", description = "Session ended")
+    @ApiResponse(responseCode = "404", description = "Unknown or expired session")
+    public ResponseEntity<Void> close(@RequestHeader("${encryption.session.header:X-Session-Id}") String sessionId) {
+        return sessionKeyStore.invalidate(sessionId) ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.encryption.converter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+/**
+ * HttpMessageConverter that reads raw binary ciphertext into String parameters
+ *
+ * Bodies with the {@code application/vnd.encrypted-binary} media type carry ciphertext
+ * bytes without Base64. They are read into a String as ISO-8859-1, which maps every byte
+ * to one char losslessly and is stored compactly by the JVM, so @Decrypt String
+ * parameters keep working and DataEncryptAspect recovers the bytes without any decoding.
+ * Binary responses are written by the aspect as byte[] through ByteArrayHttpMessageConverter.
+ */
+public class BinaryCiphertextHttpMessageConverter extends AbstractHttpMessageConverter<String> {
+
+    public static final String ENCRYPTED_BINARY_VALUE = "application/vnd.encrypted-binary";
+    public static final MediaType ENCRYPTED_BINARY = MediaType.parseMediaType(ENCRYPTED_BINARY_VALUE);
+
+    public BinaryCiphertextHttpMessageConverter() {
+        super(StandardCharsets.ISO_8859_1, ENCRYPTED_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return String.class == clazz;
+    }
+
+    /**
+     * Only read bodies explicitly sent as binary ciphertext
+     */
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return mediaType != null && ENCRYPTED_BINARY.equalsTypeAndSubtype(mediaType);
+    }
+
+    /**
+     * Never write; String responses keep their text representation
+     */
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected String readInternal(Class<? extends String> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return new String(StreamUtils.copyToByteArray(inputMessage.getBody()), StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    protected void writeInternal(String s, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        throw new HttpMessageNotWritableException("Binary ciphertext is written as byte[]");
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.encryption.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Response body of Base64 ciphertext lines, one encrypted record per line, produced while
+ * it is written
+ *
+ * Returned by DataEncryptAspect for @Encrypt(stream = true) methods and written by
+ * EncryptedNdjsonHttpMessageConverter.
+ */
+@FunctionalInterface
+public interface EncryptedNdjsonBody {
+
+    /**
+     * Encrypt the records and write them to the response
+     *
+     * @param output Response body stream
+     */
+    void writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.example.encryption.converter;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * HttpMessageConverter that writes EncryptedNdjsonBody responses as {@code application/x-ndjson}
+ *
+ * No Content-Length is set, so the servlet container sends the body with chunked transfer
+ * encoding while the records are still being encrypted.
+ */
+public class EncryptedNdjsonHttpMessageConverter extends AbstractHttpMessageConverter<EncryptedNdjsonBody> {
+
+    public EncryptedNdjsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncryptedNdjsonBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncryptedNdjsonBody readInternal(Class<? extends EncryptedNdjsonBody> clazz,
+            HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Encrypted NDJSON bodies are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(EncryptedNdjsonBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.encryption.converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.AESUtils;
+
+/**
+ * HttpMessageConverter that fuses JSON serialization and AES encryption
+ *
+ * Bodies with the {@code application/vnd.encrypted+json} media type are Base64 encoded
+ * AES ciphertext of a JSON document. Fastjson2 writes UTF-8 bytes directly into a cipher
+ * stream that feeds a Base64 encoder on the servlet output stream, and reading mirrors
+ * this, so no intermediate JSON or Base64 strings are created.
+ */
+public class EncryptingHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String ENCRYPTED_JSON_VALUE = "application/vnd.encrypted+json";
+    public static final MediaType ENCRYPTED_JSON = MediaType.parseMediaType(ENCRYPTED_JSON_VALUE);
+
+    private final AESUtils aesUtils;
+
+    public EncryptingHttpMessageConverter(AESUtils aesUtils) {
+        super(ENCRYPTED_JSON);
+        this.aesUtils = aesUtils;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    /**
+     * Only read bodies explicitly sent as encrypted JSON
+     */
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return mediaType != null && ENCRYPTED_JSON.equalsTypeAndSubtype(mediaType);
+    }
+
+    /**
+     * Only write when encrypted JSON was negotiated explicitly, so that wildcard
+     * Accept headers never select this converter over plain JSON
+     */
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && ENCRYPTED_JSON.equalsTypeAndSubtype(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try (InputStream plain = aesUtils.decryptingStream(inputMessage.getBody())) {
+            return JSON.parseObject(plain, type);
+        } catch (EncryptionException | JSONException e) {
+            throw new HttpMessageNotReadableException("Failed to decrypt request body", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (OutputStream plain = aesUtils.encryptingStream(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            JSON.writeTo(plain, object);
+        } catch (EncryptionException | JSONException e) {
+            throw new HttpMessageNotWritableException("Failed to encrypt response body", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.encryption.filter;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.AESUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Global filter for path-based encryption/decryption of request and response bodies
+ *
+ * Requests matching {@code encryption.enabled-paths} and not matching
+ * {@code encryption.excluded-paths} have their body decrypted and their response
+ * encrypted with the configured AES key. Bodies are processed as streams through
+ * Base64 and cipher streams, so large payloads are never held in memory as a whole.
+ */
+@Component
+public class DataEncryptFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataEncryptFilter.class);
+
+    private final AESUtils aesUtils;
+    private final EncryptionProperties encryptionProperties;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public DataEncryptFilter(AESUtils aesUtils, EncryptionProperties encryptionProperties) {
+        this.aesUtils = aesUtils;
+        this.encryptionProperties = encryptionProperties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!encryptionProperties.getAes().isEnabled()) {
+            return true;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : encryptionProperties.getExcludedPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        for (String pattern : encryptionProperties.getEnabledPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        logger.debug("Applying encryption filter to: {}", request.getRequestURI());
+
+        HttpServletRequest decryptingRequest = request.getContentLengthLong() != 0
+            ? new DecryptingRequestWrapper(request, aesUtils)
+            : request;
+        EncryptingResponseWrapper encryptingResponse = new EncryptingResponseWrapper(response, aesUtils);
+
+        filterChain.doFilter(decryptingRequest, encryptingResponse);
+        encryptingResponse.finish();
+    }
+}
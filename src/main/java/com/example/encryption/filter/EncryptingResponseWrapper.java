@@ -0,0 +1,221 @@
+package com.example.encryption.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.example.encryption.util.AESUtils;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper that encrypts the body as it is written
+ *
+ * The plain body is piped through an AES cipher stream and a Base64 encoder straight
+ * into the servlet output stream. Content length is dropped because the encrypted
+ * size differs, and the content type becomes plain text. Responses sent through
+ * {@code sendError}, and responses whose status is 4xx or 5xx when the body is first
+ * written, are passed through untouched so clients can read the error.
+ */
+class EncryptingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final String ENCRYPTED_CONTENT_TYPE = MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8";
+
+    private final AESUtils aesUtils;
+    private OutputStream encryptingStream;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean errorSent;
+    private boolean plain;
+
+    EncryptingResponseWrapper(HttpServletResponse response, AESUtils aesUtils) {
+        super(response);
+        this.aesUtils = aesUtils;
+        response.setContentType(ENCRYPTED_CONTENT_TYPE);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null && isError()) {
+            plain = true;
+            outputStream = super.getOutputStream();
+        }
+        if (outputStream == null) {
+            OutputStream target = CloseShieldOutputStream.wrap(super.getOutputStream());
+            encryptingStream = aesUtils.encryptingStream(target);
+            outputStream = new EncryptingOutputStream(encryptingStream);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null && outputStream == null && isError()) {
+            plain = true;
+            writer = super.getWriter();
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentType(String type) {
+        // The wire format is always Base64 text regardless of the handler's content type
+        if (isPlain()) {
+            super.setContentType(type);
+        }
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        // Plain bytes are always encoded as UTF-8 before encryption
+        if (isPlain()) {
+            super.setCharacterEncoding(charset);
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // Encrypted length differs from the plain length
+        if (isPlain()) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // Encrypted length differs from the plain length
+        if (isPlain()) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (isPlain() || !isRewrittenHeader(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (isPlain() || !isRewrittenHeader(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (isPlain() || !isRewrittenHeader(name)) {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        errorSent = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        errorSent = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Finish encryption, writing the final cipher block and Base64 padding
+     */
+    void finish() throws IOException {
+        if (plain || errorSent || encryptingStream == null) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        encryptingStream.close();
+    }
+
+    /**
+     * Whether the body goes out unencrypted: it is already being written in plain, or it
+     * has not been started yet and the response is an error
+     */
+    private boolean isPlain() {
+        return plain || (encryptingStream == null && isError());
+    }
+
+    private boolean isError() {
+        return errorSent || getStatus() >= 400;
+    }
+
+    private static boolean isRewrittenHeader(String name) {
+        return HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Servlet output stream over the encrypting cipher stream
+     */
+    private static final class EncryptingOutputStream extends ServletOutputStream {
+
+        private final OutputStream delegate;
+
+        EncryptingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Encryption is finished by the filter once the handler has completed
+            flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported for encrypted responses");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.encryption.metrics;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.util.CryptoProviders;
+
+/**
+ * Actuator endpoint {@code /actuator/cryptoproviders} reporting the JCA provider chosen per
+ * cipher operation and, when chosen by calibration, the rates measured for each candidate
+ */
+@Component
+@Endpoint(id = "cryptoproviders")
+public class CryptoProviderEndpoint {
+
+    private final CryptoProviders cryptoProviders;
+
+    public CryptoProviderEndpoint(CryptoProviders cryptoProviders) {
+        this.cryptoProviders = cryptoProviders;
+    }
+
+    @ReadOperation
+    public Map<CryptoProviders.Operation, CryptoProviders.Selection> selections() {
+        return cryptoProviders.getSelections();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.encryption.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer meters for the encryption hot paths
+ *
+ * Meters are registered once per endpoint and operation when the encryption plans are
+ * built, so recording on the request path only touches prebuilt meter instances and
+ * never allocates tags or performs a registry lookup.
+ *
+ * Spring Boot binds this class to the application MeterRegistry. Meters created before
+ * that are re-registered on binding; outside a Spring context they stay on the global
+ * registry, which is a no-op unless registries are added to it.
+ *
+ * Exposed meters:
+ * <ul>
+ *   <li>{@code encryption.operation} - timer with histogram, tagged operation/algorithm/endpoint/outcome</li>
+ *   <li>{@code encryption.payload.size} - plaintext and ciphertext size in bytes</li>
+ *   <li>{@code encryption.decrypt.failures} - parameters that failed to decrypt</li>
+ *   <li>{@code encryption.decrypt.fallbacks} - requests continued with original data (throwOnFailure=false)</li>
+ *   <li>{@code encryption.rsa.key.cache.*} - parsed RSA key cache hits, misses and size</li>
+ *   <li>{@code encryption.rsa.keypair.pool.*} - pre-generated RSA key pair pool depth, hits and starvations</li>
+ *   <li>{@code encryption.crypto.executor.*} - async encryption queue depth, busy threads and rejections</li>
+ *   <li>{@code encryption.response.cache.*} - encrypted response cache hits, misses, hit ratio,
+ *       evictions, entries and estimated memory</li>
+ *   <li>{@code encryption.session.*} - ECDH handshakes and session keys held</li>
+ * </ul>
+ */
+@Component
+public class EncryptionMetrics implements MeterBinder {
+
+    public static final String OPERATION_ENCRYPT = "encrypt";
+    public static final String OPERATION_DECRYPT = "decrypt";
+
+    private final RSAUtils rsaUtils;
+    private final CryptoExecutor cryptoExecutor;
+    private final EncryptedResponseCache responseCache;
+    private final SessionKeyStore sessionKeyStore;
+    private final List<OperationMeters> operationMeters = new ArrayList<>();
+    private volatile MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public EncryptionMetrics(RSAUtils rsaUtils, CryptoExecutor cryptoExecutor, EncryptedResponseCache responseCache,
+            SessionKeyStore sessionKeyStore) {
+        this.rsaUtils = rsaUtils;
+        this.cryptoExecutor = cryptoExecutor;
+        this.responseCache = responseCache;
+        this.sessionKeyStore = sessionKeyStore;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        synchronized (operationMeters) {
+            this.meterRegistry = registry;
+            for (OperationMeters meters : operationMeters) {
+                meters.register(registry);
+            }
+        }
+
+        FunctionCounter.builder("encryption.rsa.key.cache.hits", rsaUtils, RSAUtils::getKeyCacheHits)
+            .description("Parsed RSA key lookups served from cache")
+            .register(registry);
+        FunctionCounter.builder("encryption.rsa.key.cache.misses", rsaUtils, RSAUtils::getKeyCacheMisses)
+            .description("Parsed RSA key lookups that decoded and parsed the key")
+            .register(registry);
+        Gauge.builder("encryption.rsa.key.cache.size", rsaUtils, RSAUtils::getKeyCacheSize)
+            .description("Parsed RSA keys currently cached")
+            .register(registry);
+
+        Gauge.builder("encryption.rsa.keypair.pool.size", rsaUtils, RSAUtils::getKeyPairPoolSize)
+            .description("Pre-generated RSA key pairs waiting in the pool")
+            .register(registry);
+        FunctionCounter.builder("encryption.rsa.keypair.pool.hits", rsaUtils, RSAUtils::getKeyPairPoolHits)
+            .description("RSA key pair requests served from the pool")
+            .register(registry);
+        FunctionCounter.builder("encryption.rsa.keypair.pool.starvations", rsaUtils,
+                RSAUtils::getKeyPairPoolStarvations)
+            .description("RSA key pair requests that found the pool empty and generated synchronously")
+            .register(registry);
+
+        Gauge.builder("encryption.crypto.executor.queued", cryptoExecutor, CryptoExecutor::getQueueSize)
+            .description("Async response encryptions waiting for a crypto thread")
+            .register(registry);
+        Gauge.builder("encryption.crypto.executor.active", cryptoExecutor, CryptoExecutor::getActiveCount)
+            .description("Crypto threads currently encrypting")
+            .register(registry);
+        FunctionCounter.builder("encryption.crypto.executor.rejected", cryptoExecutor,
+                CryptoExecutor::getRejectedCount)
+            .description("Async response encryptions rejected because the queue was full")
+            .register(registry);
+
+        FunctionCounter.builder("encryption.response.cache.hits", responseCache, EncryptedResponseCache::getHitCount)
+            .description("Encrypted responses served from cache or answered 304 without invoking the endpoint")
+            .register(registry);
+        FunctionCounter.builder("encryption.response.cache.misses", responseCache,
+                EncryptedResponseCache::getMissCount)
+            .description("Cacheable requests that invoked the endpoint")
+            .register(registry);
+        Gauge.builder("encryption.response.cache.hit.ratio", responseCache, EncryptedResponseCache::getHitRatio)
+            .description("Share of cacheable requests served from cache")
+            .register(registry);
+        FunctionCounter.builder("encryption.response.cache.evictions", responseCache,
+                EncryptedResponseCache::getEvictionCount)
+            .description("Encrypted responses evicted to stay within the cache size limit")
+            .register(registry);
+        Gauge.builder("encryption.response.cache.entries", responseCache, EncryptedResponseCache::getEntryCount)
+            .description("Encrypted responses currently cached")
+            .register(registry);
+        Gauge.builder("encryption.response.cache.size", responseCache, EncryptedResponseCache::getSizeBytes)
+            .description("Estimated memory held by cached encrypted responses")
+            .baseUnit("bytes")
+            .register(registry);
+
+        FunctionCounter.builder("encryption.session.handshakes", sessionKeyStore, SessionKeyStore::getHandshakeCount)
+            .description("ECDH handshakes that established a session key")
+            .register(registry);
+        Gauge.builder("encryption.session.active", sessionKeyStore, SessionKeyStore::getSessionCount)
+            .description("Session keys held, including expired ones not yet swept")
+            .register(registry);
+    }
+
+    /**
+     * Register the meters for one operation on one endpoint
+     *
+     * @param operation encrypt or decrypt
+     * @param algorithm Algorithm tag value
+     * @param endpoint Endpoint tag value
+     * @return Prebuilt meters to record against
+     */
+    public OperationMeters operationMeters(String operation, String algorithm, String endpoint) {
+        OperationMeters meters = new OperationMeters(
+            Tags.of("operation", operation, "algorithm", algorithm, "endpoint", endpoint),
+            OPERATION_DECRYPT.equals(operation));
+        synchronized (operationMeters) {
+            meters.register(meterRegistry);
+            operationMeters.add(meters);
+        }
+        return meters;
+    }
+
+    /**
+     * Prebuilt meters for one operation on one endpoint; failure and fallback
+     * counters exist for decrypt operations only
+     */
+    public static final class OperationMeters {
+        private final Tags tags;
+        private final boolean decrypt;
+
+        private volatile Timer success;
+        private volatile Timer failure;
+        private volatile DistributionSummary plaintextSize;
+        private volatile DistributionSummary ciphertextSize;
+        private volatile Counter decryptFailures;
+        private volatile Counter decryptFallbacks;
+
+        OperationMeters(Tags tags, boolean decrypt) {
+            this.tags = tags;
+            this.decrypt = decrypt;
+        }
+
+        /**
+         * (Re)register the meters, used when plans were built before the registry was bound
+         */
+        void register(MeterRegistry registry) {
+            success = timer(registry, tags.and("outcome", "success"));
+            failure = timer(registry, tags.and("outcome", "failure"));
+            plaintextSize = payloadSize(registry, tags.and("type", "plaintext"));
+            ciphertextSize = payloadSize(registry, tags.and("type", "ciphertext"));
+            if (decrypt) {
+                decryptFailures = Counter.builder("encryption.decrypt.failures")
+                    .description("Parameters that failed to decrypt")
+                    .tags(tags)
+                    .register(registry);
+                decryptFallbacks = Counter.builder("encryption.decrypt.fallbacks")
+                    .description("Requests continued with original data because throwOnFailure=false")
+                    .tags(tags)
+                    .register(registry);
+            }
+        }
+
+        public void recordSuccess(long startNanos) {
+            success.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordFailure(long startNanos) {
+            failure.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordSizes(long plaintextBytes, long ciphertextBytes) {
+            plaintextSize.record(plaintextBytes);
+            ciphertextSize.record(ciphertextBytes);
+        }
+
+        public void recordDecryptFailure() {
+            decryptFailures.increment();
+        }
+
+        public void recordDecryptFallback() {
+            decryptFallbacks.increment();
+        }
+
+        private static Timer timer(MeterRegistry registry, Tags tags) {
+            return Timer.builder("encryption.operation")
+                .description("Encryption and decryption latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+
+        private static DistributionSummary payloadSize(MeterRegistry registry, Tags tags) {
+            return DistributionSummary.builder("encryption.payload.size")
+                .description("Plaintext and ciphertext payload sizes")
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.encryption.rotation;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Storage holding AES ciphertexts that {@link ReencryptionJob} migrates to the current key
+ *
+ * Implementations adapt whatever persists encrypted values, such as a database column,
+ * and decide how entries are paged while they are visited.
+ */
+public interface CiphertextStore {
+
+    /**
+     * Visit every stored ciphertext
+     *
+     * @param visitor Receives the entry id and its Base64 encoded ciphertext; may throw
+     *                to stop the iteration early
+     */
+    void forEach(BiConsumer<String, String> visitor);
+
+    /**
+     * Replace the ciphertext stored under an id
+     *
+     * @param id Entry id passed to the visitor
+     * @param ciphertext Ciphertext encrypted with the current key
+     */
+    void update(String id, String ciphertext);
+}
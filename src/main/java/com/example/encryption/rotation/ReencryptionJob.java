@@ -0,0 +1,111 @@
+package com.example.encryption.rotation;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.AESUtils;
+
+/**
+ * Background migration of stored AES ciphertexts to the current key ring version
+ *
+ * Entries already encrypted with the current key are recognized from their key ID and
+ * skipped without decrypting. The others are re-encrypted at no more than the configured
+ * rate, so a migration never competes with request traffic for CPU or storage bandwidth.
+ * Entries that fail to decrypt are logged and left as they are.
+ *
+ * Migrations run one at a time on a dedicated daemon thread and can be stopped by
+ * cancelling the returned future.
+ */
+@Component
+public class ReencryptionJob implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReencryptionJob.class);
+
+    private final AESUtils aesUtils;
+    private final EncryptionProperties encryptionProperties;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aes-reencryption");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReencryptionJob(AESUtils aesUtils, EncryptionProperties encryptionProperties) {
+        this.aesUtils = aesUtils;
+        this.encryptionProperties = encryptionProperties;
+    }
+
+    /**
+     * Start migrating every entry of a store to the current key
+     *
+     * @param store Store to migrate
+     * @return Future completing with the number of re-encrypted entries; cancel it to stop
+     */
+    public CompletableFuture<Long> migrate(CiphertextStore store) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(run(store, result));
+            } catch (CancellationException e) {
+                logger.info("AES re-encryption cancelled");
+            } catch (Exception e) {
+                logger.error("AES re-encryption failed", e);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private long run(CiphertextStore store, CompletableFuture<Long> result) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / encryptionProperties.getAes().getKeyRing().getReencryptRate();
+        long[] counts = new long[3];
+        long[] nextSlot = {System.nanoTime()};
+        int keyVersion = aesUtils.currentKeyVersion();
+        logger.info("AES re-encryption started, target key version: {}", keyVersion);
+
+        store.forEach((id, ciphertext) -> {
+            if (result.isCancelled()) {
+                throw new CancellationException();
+            }
+            if (aesUtils.isEncryptedWithCurrentKey(ciphertext)) {
+                counts[1]++;
+                return;
+            }
+
+            // Throttle only the entries that are actually re-encrypted
+            long wait = nextSlot[0] - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            nextSlot[0] = Math.max(nextSlot[0], System.nanoTime() - interval) + interval;
+
+            try {
+                store.update(id, aesUtils.reencrypt(ciphertext));
+                counts[0]++;
+            } catch (EncryptionException e) {
+                counts[2]++;
+                logger.warn("AES re-encryption skipped entry {}: {}", id, e.getMessage());
+            }
+        });
+
+        logger.info("AES re-encryption finished - Re-encrypted: {}, Already current: {}, Failed: {}",
+            counts[0], counts[1], counts[2]);
+        return counts[0];
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.encryption.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Loads versioned AES keys from a key ring file
+ *
+ * Properties files map each version to a Base64 encoded key ({@code 2=q83v...}).
+ * Keystores ending in .p12/.pfx, .jks or .jceks hold secret key entries whose aliases
+ * are the versions. Versions range from 1 to {@value #MAX_VERSION}; the highest one
+ * is the current key.
+ */
+final class AESKeyRing {
+
+    static final int MAX_VERSION = 255;
+
+    private AESKeyRing() {
+    }
+
+    /**
+     * Load the raw key bytes of every version in the file
+     *
+     * @param location Key ring file
+     * @param password Keystore password, may be null for properties files
+     * @return Key bytes by version, never empty
+     * @throws EncryptionException if the file is malformed or holds no valid key
+     */
+    static SortedMap<Integer, byte[]> load(Path location, String password)
+            throws IOException, GeneralSecurityException {
+        String type = keyStoreType(location);
+        SortedMap<Integer, byte[]> keys = type == null ? loadProperties(location) : loadKeyStore(location, type, password);
+        if (keys.isEmpty()) {
+            throw new EncryptionException("Key ring contains no keys: " + location);
+        }
+        return Collections.unmodifiableSortedMap(keys);
+    }
+
+    private static SortedMap<Integer, byte[]> loadProperties(Path location) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(location, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        SortedMap<Integer, byte[]> keys = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            byte[] key;
+            try {
+                key = Base64.getDecoder().decode(properties.getProperty(name).trim());
+            } catch (IllegalArgumentException e) {
+                throw new EncryptionException("Key ring version " + name + " is not valid Base64", e);
+            }
+            keys.put(version(name), checkLength(name, key));
+        }
+        return keys;
+    }
+
+    private static SortedMap<Integer, byte[]> loadKeyStore(Path location, String type, String password)
+            throws IOException, GeneralSecurityException {
+        char[] secret = password == null ? null : password.toCharArray();
+        KeyStore keyStore = KeyStore.getInstance(type);
+        try (InputStream in = Files.newInputStream(location)) {
+            keyStore.load(in, secret);
+        }
+
+        SortedMap<Integer, byte[]> keys = new TreeMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (!keyStore.isKeyEntry(alias)) {
+                continue;
+            }
+            Key key = keyStore.getKey(alias, secret);
+            if ("AES".equalsIgnoreCase(key.getAlgorithm())) {
+                keys.put(version(alias), checkLength(alias, key.getEncoded()));
+            }
+        }
+        return keys;
+    }
+
+    private static String keyStoreType(Path location) {
+        String name = location.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".p12") || name.endsWith(".pfx")) {
+            return "PKCS12";
+        }
+        if (name.endsWith(".jks")) {
+            return "JKS";
+        }
+        return name.endsWith(".jceks") ? "JCEKS" : null;
+    }
+
+    private static int version(String name) {
+        try {
+            int version = Integer.parseInt(name.trim());
+            if (version >= 1 && version <= MAX_VERSION) {
+                return version;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new EncryptionException("Key ring version must be between 1 and " + MAX_VERSION + ": " + name);
+    }
+
+    private static byte[] checkLength(String version, byte[] key) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new EncryptionException("Key ring version " + version + " must be 16, 24 or 32 bytes, got "
+                + key.length);
+        }
+        return key;
+    }
+}
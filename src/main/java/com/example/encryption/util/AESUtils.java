@@ -1,13 +1,39 @@
 package com.example.encryption.util;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.example.encryption.config.EncryptionProperties;
@@ -17,7 +43,32 @@ import com.example.encryption.exception.EncryptionException;
  * AES encryption/decryption utility class
  * 
  * Provides symmetric encryption using AES algorithm with configurable key and algorithm.
- * Supports both ECB and CBC modes with proper padding.
+ * Supports ECB, IV based modes such as CBC, and authenticated AES/GCM/NoPadding.
+ * 
+ * For modes with an IV the ciphertext is laid out as {@code [IV][ciphertext]}; for GCM
+ * the IV is a 12-byte nonce and the 16-byte authentication tag follows the ciphertext.
+ * GCM nonces are a random 4-byte fixed field plus a 64-bit invocation counter starting
+ * at a random value (NIST SP 800-38D deterministic construction), so no SecureRandom
+ * is consulted per call. CBC IVs must be unpredictable and still come from SecureRandom.
+ * 
+ * The SecretKey is built once and rebuilt only when the configured key or algorithm
+ * changes. Cipher instances are cached per thread and key so the provider lookup is
+ * not repeated on every call; virtual threads share a bounded pool of them instead (see
+ * {@link ThreadCache}). A cipher whose operation fails is discarded rather than reused.
+ * Ciphers come from the JCA provider selected by {@link CryptoProviders}.
+ * 
+ * When a key ring is configured, every ciphertext starts with a 3-byte key ID
+ * {@code [A5 4B][version]} ahead of the IV and is encrypted with the newest version.
+ * Decryption picks the cached key named by the key ID, and data without one, from
+ * clients that have not switched yet, decrypts with the single configured key. The
+ * key ring file is checked for changes at the reload interval and swapped in
+ * atomically, so keys rotate without a restart.
+ * 
+ * String methods are thin wrappers over the byte[] methods. The ByteBuffer methods work
+ * on caller supplied heap or direct buffers, so steady-state callers allocate nothing.
+ * 
+ * Batch methods encrypt independent items in parallel on the common ForkJoin pool;
+ * each result is a self-contained ciphertext that decrypts with {@link #decrypt(String)}.
  */
 @Component
 public class AESUtils {
@@ -25,9 +76,24 @@ public class AESUtils {
     private static final Logger logger = LoggerFactory.getLogger(AESUtils.class);
 
     private final EncryptionProperties encryptionProperties;
+    private final CryptoProviders cryptoProviders;
+
+    private static final byte KEY_ID_MAGIC_0 = (byte) 0xA5;
+    private static final byte KEY_ID_MAGIC_1 = 0x4B;
+    private static final int KEY_ID_LENGTH = 3;
+
+    private final ReentrantLock keySetLock = new ReentrantLock();
+
+    private volatile KeySet keySet;
 
     public AESUtils(EncryptionProperties encryptionProperties) {
+        this(encryptionProperties, CryptoProviders.defaults());
+    }
+
+    @Autowired
+    public AESUtils(EncryptionProperties encryptionProperties, CryptoProviders cryptoProviders) {
         this.encryptionProperties = encryptionProperties;
+        this.cryptoProviders = cryptoProviders;
     }
 
     /**
@@ -41,31 +107,114 @@ public class AESUtils {
         if (data == null || data.isEmpty()) {
             throw new EncryptionException("Data to encrypt cannot be null or empty");
         }
+        return encrypt(data.getBytes(StandardCharsets.UTF_8));
+    }
 
-        try {
-            String key = encryptionProperties.getAes().getKey();
-            String algorithm = encryptionProperties.getAes().getAlgorithm();
+    /**
+     * Encrypt already encoded UTF-8 data using AES algorithm
+     * 
+     * @param data Plain bytes to encrypt
+     * @return Base64 encoded encrypted data
+     * @throws EncryptionException if encryption fails
+     */
+    public String encrypt(byte[] data) {
+        return Base64.getEncoder().encodeToString(encryptToBytes(data));
+    }
 
-            Cipher cipher = Cipher.getInstance(algorithm);
-            SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+    /**
+     * Encrypt data into raw ciphertext bytes, for binary transports that skip Base64
+     * 
+     * @param data Plain bytes to encrypt
+     * @return Encrypted bytes, prefixed with the IV for modes that use one
+     * @throws EncryptionException if encryption fails
+     */
+    public byte[] encryptToBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new EncryptionException("Data to encrypt cannot be null or empty");
+        }
 
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            String encryptedData = Base64.getEncoder().encodeToString(encryptedBytes);
+        try {
+            byte[] encryptedBytes = encryptBytes(data);
 
-            if (encryptionProperties.isDebugMode()) {
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
                 logger.debug("AES Encryption - Original length: {}, Encrypted length: {}", 
-                    data.length(), encryptedData.length());
+                    data.length, encryptedBytes.length);
             }
 
-            return encryptedData;
+            return encryptedBytes;
 
         } catch (Exception e) {
-            logger.error("AES encryption failed for data length: {}", data.length(), e);
+            logger.error("AES encryption failed for data length: {}", data.length, e);
             throw new EncryptionException("Failed to encrypt data using AES", e);
         }
     }
 
+    /**
+     * Encrypt a batch of values, each into its own independently decryptable ciphertext
+     * 
+     * Values are encrypted in parallel; the result keeps the order of the input.
+     * 
+     * @param plaintexts Plain text values to encrypt
+     * @return Base64 encoded encrypted values, in input order
+     * @throws EncryptionException if any value fails to encrypt
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        if (plaintexts == null) {
+            throw new EncryptionException("Data to encrypt cannot be null");
+        }
+        return parallel(plaintexts.size()).mapToObj(i -> encrypt(plaintexts.get(i))).toList();
+    }
+
+    /**
+     * Split a list into chunks and encrypt each chunk independently
+     * 
+     * Each chunk is serialized and encrypted on its own, in parallel, so clients can
+     * decrypt chunks as they arrive instead of waiting for the whole payload.
+     * 
+     * @param items Items to encrypt
+     * @param chunkSize Maximum number of items per chunk
+     * @param serializer Serializes one chunk into plain bytes, e.g. a JSON array
+     * @return Base64 encoded encrypted chunks, in input order
+     * @throws EncryptionException if any chunk fails to serialize or encrypt
+     */
+    public <T> List<String> encryptChunks(List<T> items, int chunkSize, Function<List<T>, byte[]> serializer) {
+        return encryptChunks(items, chunkSize, serializer, this::encryptToBytes);
+    }
+
+    /**
+     * Split a list into chunks and encrypt each chunk independently with another key,
+     * such as a client session key
+     * 
+     * @param items Items to encrypt
+     * @param chunkSize Maximum number of items per chunk
+     * @param serializer Serializes one chunk into plain bytes, e.g. a JSON array
+     * @param encryptor Encrypts one serialized chunk into raw ciphertext; called in parallel
+     * @return Base64 encoded encrypted chunks, in input order
+     * @throws EncryptionException if any chunk fails to serialize or encrypt
+     */
+    public <T> List<String> encryptChunks(List<T> items, int chunkSize, Function<List<T>, byte[]> serializer,
+            Function<byte[], byte[]> encryptor) {
+        if (items == null) {
+            throw new EncryptionException("Data to encrypt cannot be null");
+        }
+        if (chunkSize <= 0) {
+            throw new EncryptionException("Chunk size must be positive: " + chunkSize);
+        }
+
+        int chunkCount = (items.size() + chunkSize - 1) / chunkSize;
+        List<List<T>> chunks = new ArrayList<>(chunkCount);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+
+        List<String> encrypted = parallel(chunkCount).mapToObj(
+            i -> Base64.getEncoder().encodeToString(encryptor.apply(serializer.apply(chunks.get(i))))).toList();
+        if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+            logger.debug("AES chunked encryption - Items: {}, Chunks: {}", items.size(), chunkCount);
+        }
+        return encrypted;
+    }
+
     /**
      * Decrypt data using AES algorithm
      * 
@@ -78,31 +227,217 @@ public class AESUtils {
             throw new EncryptionException("Encrypted data cannot be null or empty");
         }
 
+        byte[] decodedBytes;
         try {
-            String key = encryptionProperties.getAes().getKey();
-            String algorithm = encryptionProperties.getAes().getAlgorithm();
+            decodedBytes = Base64.getDecoder().decode(encryptedData);
+        } catch (IllegalArgumentException e) {
+            logger.error("AES decryption failed for data length: {}", encryptedData.length(), e);
+            throw new EncryptionException("Failed to decrypt data using AES", e);
+        }
+        return new String(decrypt(decodedBytes), StandardCharsets.UTF_8);
+    }
 
-            Cipher cipher = Cipher.getInstance(algorithm);
-            SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
+    /**
+     * Decrypt raw ciphertext bytes, as produced by {@link #encryptToBytes(byte[])}
+     * 
+     * @param encryptedData Encrypted bytes
+     * @return Decrypted plain bytes
+     * @throws EncryptionException if decryption fails
+     */
+    public byte[] decrypt(byte[] encryptedData) {
+        if (encryptedData == null || encryptedData.length == 0) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
 
-            byte[] decodedBytes = Base64.getDecoder().decode(encryptedData);
-            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-            String decryptedData = new String(decryptedBytes, StandardCharsets.UTF_8);
+        try {
+            byte[] decryptedBytes = decryptBytes(encryptedData);
 
-            if (encryptionProperties.isDebugMode()) {
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
                 logger.debug("AES Decryption - Encrypted length: {}, Decrypted length: {}", 
-                    encryptedData.length(), decryptedData.length());
+                    encryptedData.length, decryptedBytes.length);
             }
 
-            return decryptedData;
+            return decryptedBytes;
 
         } catch (Exception e) {
-            logger.error("AES decryption failed for data length: {}", encryptedData.length(), e);
+            logger.error("AES decryption failed for data length: {}", encryptedData.length, e);
+            throw new EncryptionException("Failed to decrypt data using AES", e);
+        }
+    }
+
+    /**
+     * Encrypt from one buffer into another without intermediate copies
+     * 
+     * Reads the remaining bytes of in and writes the IV (for modes that use one) followed
+     * by the ciphertext to out. Heap and direct buffers are both supported, and callers
+     * that reuse their output buffer encrypt without allocating. Size out with
+     * {@link #maxEncryptedLength(int)}. Buffer positions are undefined after a failure.
+     * 
+     * @param in Plain bytes, consumed up to its limit
+     * @param out Buffer receiving the encrypted bytes
+     * @return Number of bytes written to out
+     * @throws EncryptionException if out is too small or encryption fails
+     */
+    public int encrypt(ByteBuffer in, ByteBuffer out) {
+        if (in == null || out == null) {
+            throw new EncryptionException("Input and output buffers cannot be null");
+        }
+
+        try {
+            KeyMaterial material = currentKeySet().current;
+            return material.cipherSlots.use(slot -> {
+                Cipher cipher = slot.cipher(Cipher.ENCRYPT_MODE);
+                if (material.ivLength > 0) {
+                    material.nextIv(slot.iv);
+                    material.init(cipher, Cipher.ENCRYPT_MODE, slot.iv, 0);
+                }
+                int required = material.prefixLength + cipher.getOutputSize(in.remaining());
+                if (out.remaining() < required) {
+                    throw new EncryptionException("Output buffer too small: " + out.remaining() + " < " + required);
+                }
+                material.putPrefix(out, slot.iv);
+                return material.prefixLength + cipher.doFinal(in, out);
+            });
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("AES buffer encryption failed for data length: {}", in.remaining(), e);
+            throw new EncryptionException("Failed to encrypt data using AES", e);
+        }
+    }
+
+    /**
+     * Decrypt from one buffer into another without intermediate copies
+     * 
+     * Reads the IV (for modes that use one) and ciphertext remaining in in and writes the
+     * plain bytes to out, which needs room for the ciphertext length minus the IV.
+     * Buffer positions are undefined after a failure.
+     * 
+     * @param in Encrypted bytes as written by {@link #encrypt(ByteBuffer, ByteBuffer)}
+     * @param out Buffer receiving the plain bytes
+     * @return Number of bytes written to out
+     * @throws EncryptionException if out is too small or decryption fails
+     */
+    public int decrypt(ByteBuffer in, ByteBuffer out) {
+        if (in == null || out == null) {
+            throw new EncryptionException("Input and output buffers cannot be null");
+        }
+
+        try {
+            KeySet keys = currentKeySet();
+            KeyMaterial material = keys.forCiphertext(in);
+            int inPosition = in.position();
+            int outPosition = out.position();
+            try {
+                return decryptBuffer(material, in, out);
+            } catch (Exception e) {
+                if (material == keys.legacy) {
+                    throw e;
+                }
+                // Data from before the key ring whose first bytes happen to look like a key ID
+                in.position(inPosition);
+                out.position(outPosition);
+                return decryptBuffer(keys.legacy, in, out);
+            }
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("AES buffer decryption failed for data length: {}", in.remaining(), e);
             throw new EncryptionException("Failed to decrypt data using AES", e);
         }
     }
 
+    /**
+     * Size of the encrypted output for a plaintext length, including the IV, for sizing
+     * buffers passed to {@link #encrypt(ByteBuffer, ByteBuffer)}
+     * 
+     * @param plainLength Number of plain bytes
+     * @return Number of encrypted bytes
+     */
+    public int maxEncryptedLength(int plainLength) {
+        return currentKeySet().current.encryptedLength(plainLength);
+    }
+
+    /**
+     * Wrap a stream so that everything written to it is encrypted and Base64 encoded
+     * incrementally, producing the same text as {@link #encrypt(String)} without
+     * buffering the payload
+     * 
+     * Closing the returned stream finishes encryption and closes the target stream.
+     * 
+     * @param target Stream receiving the Base64 encoded ciphertext
+     * @return Stream accepting plain bytes
+     * @throws EncryptionException if the cipher cannot be initialized
+     */
+    public OutputStream encryptingStream(OutputStream target) {
+        try {
+            KeyMaterial material = currentKeySet().current;
+            Cipher cipher = material.newCipher(Cipher.ENCRYPT_MODE);
+            OutputStream base64 = Base64.getEncoder().wrap(target);
+            byte[] iv = new byte[material.ivLength];
+            if (material.ivLength > 0) {
+                material.nextIv(iv);
+                material.init(cipher, Cipher.ENCRYPT_MODE, iv, 0);
+            }
+            byte[] prefix = new byte[material.prefixLength];
+            material.writePrefix(prefix, iv);
+            base64.write(prefix);
+            return new CipherOutputStream(base64, cipher);
+        } catch (Exception e) {
+            logger.error("Failed to initialize AES encrypting stream", e);
+            throw new EncryptionException("Failed to initialize AES encrypting stream", e);
+        }
+    }
+
+    /**
+     * Wrap a stream of Base64 encoded ciphertext, as produced by {@link #encrypt(String)},
+     * so that reading from it yields the decrypted bytes incrementally
+     * 
+     * Characters outside the Base64 alphabet, such as line breaks or JSON quotes, are ignored.
+     * The key ID and, for IV based modes, the IV are read from the source when the stream is
+     * created. Unlike {@link #decrypt(String)}, data from before the key ring is not retried
+     * with the configured key if its first bytes happen to match a key ID. GCM
+     * releases plaintext only once the authentication tag has been verified at the end.
+     * 
+     * @param source Stream supplying the Base64 encoded ciphertext
+     * @return Stream yielding plain bytes
+     * @throws EncryptionException if the cipher cannot be initialized
+     */
+    public InputStream decryptingStream(InputStream source) {
+        try {
+            KeySet keys = currentKeySet();
+            InputStream base64 = Base64.getMimeDecoder().wrap(source);
+            KeyMaterial material = keys.legacy;
+            if (keys.versioned()) {
+                PushbackInputStream pushback = new PushbackInputStream(base64, KEY_ID_LENGTH);
+                byte[] keyId = pushback.readNBytes(KEY_ID_LENGTH);
+                material = keys.forCiphertext(keyId, 0, keyId.length);
+                if (material.headerLength == 0) {
+                    pushback.unread(keyId);
+                }
+                base64 = pushback;
+            }
+            Cipher cipher = material.newCipher(Cipher.DECRYPT_MODE);
+            if (material.ivLength > 0) {
+                byte[] iv = base64.readNBytes(material.ivLength);
+                if (iv.length == 0) {
+                    // Empty ciphertext decrypts to an empty body, as it does without an IV
+                    return InputStream.nullInputStream();
+                }
+                if (iv.length < material.ivLength) {
+                    throw new EncryptionException("Encrypted stream is shorter than the IV");
+                }
+                material.init(cipher, Cipher.DECRYPT_MODE, iv, 0);
+            }
+            return new CipherInputStream(base64, cipher);
+        } catch (Exception e) {
+            logger.error("Failed to initialize AES decrypting stream", e);
+            throw new EncryptionException("Failed to initialize AES decrypting stream", e);
+        }
+    }
+
     /**
      * Validate if the provided key is suitable for AES encryption
      * 
@@ -136,4 +471,467 @@ public class AESUtils {
             throw new EncryptionException("Failed to generate AES key", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Index stream over a batch, parallel only when there is more than one item
+     */
+    private static IntStream parallel(int size) {
+        IntStream indexes = IntStream.range(0, size);
+        return size > 1 ? indexes.parallel() : indexes;
+    }
+
+    /**
+     * Check whether a ciphertext is already encrypted with the current key, so that
+     * re-encryption can skip it without decrypting
+     * 
+     * @param encryptedData Base64 encoded encrypted data
+     * @return true if the key ID names the current key, or there is no key ring and no key ID
+     */
+    public boolean isEncryptedWithCurrentKey(String encryptedData) {
+        KeySet keys = currentKeySet();
+        if (encryptedData == null || encryptedData.length() < 4) {
+            return keys.current == keys.legacy;
+        }
+        // Four Base64 characters decode to exactly the three key ID bytes
+        byte[] keyId;
+        try {
+            keyId = Base64.getDecoder().decode(encryptedData.substring(0, 4));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return keys.forCiphertext(keyId, 0, keyId.length) == keys.current;
+    }
+
+    /**
+     * Re-encrypt a ciphertext with the current key
+     * 
+     * @param encryptedData Base64 encoded data encrypted with any known key
+     * @return The input if it already uses the current key, otherwise the re-encrypted data
+     * @throws EncryptionException if the data cannot be decrypted
+     */
+    public String reencrypt(String encryptedData) {
+        if (encryptedData == null || encryptedData.isEmpty()) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
+        if (isEncryptedWithCurrentKey(encryptedData)) {
+            return encryptedData;
+        }
+
+        byte[] decodedBytes;
+        try {
+            decodedBytes = Base64.getDecoder().decode(encryptedData);
+        } catch (IllegalArgumentException e) {
+            throw new EncryptionException("Failed to decrypt data using AES", e);
+        }
+        return encrypt(decrypt(decodedBytes));
+    }
+
+    /**
+     * Version of the key that new ciphertexts are encrypted with
+     * 
+     * @return Current key ring version, or 0 without a key ring
+     */
+    public int currentKeyVersion() {
+        return currentKeySet().current.version;
+    }
+
+    /**
+     * Reload the key ring now instead of waiting for the next reload check
+     * 
+     * @throws EncryptionException if the key ring cannot be loaded; the previous keys stay in use
+     */
+    public void reloadKeyRing() {
+        keySetLock.lock();
+        try {
+            this.keySet = loadKeySet(this.keySet);
+        } finally {
+            keySetLock.unlock();
+        }
+    }
+
+    /**
+     * AES key of the given version, for engines in this package that drive their own ciphers
+     * 
+     * @param version Key ring version, or 0 for the configured key
+     */
+    SecretKey secretKey(int version) {
+        KeySet keys = currentKeySet();
+        KeyMaterial material = version == 0 ? keys.legacy
+            : version < keys.versions.length ? keys.versions[version] : null;
+        if (material == null) {
+            throw new EncryptionException("Unknown AES key version: " + version);
+        }
+        return material.secretKey;
+    }
+
+    /**
+     * Get the keys for the current configuration, rebuilding them if the configured key,
+     * algorithm or key ring location has changed, and reloading the key ring file if it
+     * was modified since the last reload check
+     */
+    private KeySet currentKeySet() {
+        EncryptionProperties.AesProperties aes = encryptionProperties.getAes();
+        KeySet keys = this.keySet;
+        if (keys == null || !keys.matches(aes)) {
+            keySetLock.lock();
+            try {
+                keys = this.keySet;
+                if (keys == null || !keys.matches(aes)) {
+                    keys = loadKeySet(keys);
+                    this.keySet = keys;
+                }
+            } finally {
+                keySetLock.unlock();
+            }
+        } else if (keys.reloadDue(aes.getKeyRing().getReloadInterval())) {
+            keys = reloadIfModified(keys);
+        }
+        return keys;
+    }
+
+    private KeySet reloadIfModified(KeySet keys) {
+        try {
+            if (Files.getLastModifiedTime(Path.of(keys.location)).equals(keys.modified)) {
+                return keys;
+            }
+            keySetLock.lock();
+            try {
+                if (this.keySet == keys) {
+                    this.keySet = loadKeySet(keys);
+                }
+                return this.keySet;
+            } finally {
+                keySetLock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("AES key ring reload failed, keeping the keys loaded from: {}", keys.location, e);
+            return keys;
+        }
+    }
+
+    /**
+     * Build the keys for the current configuration, reusing the key material of
+     * unchanged keys so their cached ciphers and nonce counters carry over
+     */
+    private KeySet loadKeySet(KeySet previous) {
+        EncryptionProperties.AesProperties aes = encryptionProperties.getAes();
+        String algorithm = aes.getAlgorithm();
+        byte[] key = aes.getKey().getBytes(StandardCharsets.UTF_8);
+        KeyMaterial legacy = previous != null && previous.legacy.sameKey(key, algorithm)
+            ? previous.legacy : new KeyMaterial(key, algorithm, 0, cryptoProviders);
+
+        String location = KeySet.location(aes);
+        if (location == null) {
+            logger.info("AES key material initialized for algorithm: {}", algorithm);
+            return new KeySet(aes, legacy, new KeyMaterial[0], legacy, null);
+        }
+
+        try {
+            Path path = Path.of(location);
+            FileTime modified = Files.getLastModifiedTime(path);
+            SortedMap<Integer, byte[]> ring = AESKeyRing.load(path, aes.getKeyRing().getPassword());
+            KeyMaterial[] versions = new KeyMaterial[AESKeyRing.MAX_VERSION + 1];
+            ring.forEach((version, ringKey) -> {
+                KeyMaterial existing = previous != null && version < previous.versions.length
+                    ? previous.versions[version] : null;
+                versions[version] = existing != null && existing.sameKey(ringKey, algorithm)
+                    ? existing : new KeyMaterial(ringKey, algorithm, version, cryptoProviders);
+            });
+
+            logger.info("AES key ring loaded from {} with versions {}, current version: {}",
+                location, ring.keySet(), ring.lastKey());
+            return new KeySet(aes, legacy, versions, versions[ring.lastKey()], modified);
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new EncryptionException("Failed to load AES key ring from " + location, e);
+        }
+    }
+
+    /**
+     * Encrypt with this thread's cipher, prefixing the key ID and IV for modes that use them
+     */
+    private byte[] encryptBytes(byte[] data) throws Exception {
+        KeyMaterial material = currentKeySet().current;
+        return material.cipherSlots.use(slot -> {
+            Cipher cipher = slot.cipher(Cipher.ENCRYPT_MODE);
+            if (material.ivLength > 0) {
+                material.nextIv(slot.iv);
+                material.init(cipher, Cipher.ENCRYPT_MODE, slot.iv, 0);
+            }
+            if (material.prefixLength == 0) {
+                return cipher.doFinal(data);
+            }
+
+            byte[] output = new byte[material.prefixLength + cipher.getOutputSize(data.length)];
+            material.writePrefix(output, slot.iv);
+            int end = material.prefixLength + cipher.doFinal(data, 0, data.length, output, material.prefixLength);
+            return end == output.length ? output : Arrays.copyOf(output, end);
+        });
+    }
+
+    /**
+     * Decrypt with the key named by the key ID, falling back to the configured key for
+     * data from before the key ring whose first bytes happen to look like a key ID
+     */
+    private byte[] decryptBytes(byte[] data) throws Exception {
+        KeySet keys = currentKeySet();
+        KeyMaterial material = keys.forCiphertext(data, 0, data.length);
+        try {
+            return decryptBytes(material, data);
+        } catch (Exception e) {
+            if (material == keys.legacy) {
+                throw e;
+            }
+            return decryptBytes(keys.legacy, data);
+        }
+    }
+
+    /**
+     * Decrypt with this thread's cipher, skipping the key ID and reading the IV from the
+     * front for modes that use one
+     */
+    private byte[] decryptBytes(KeyMaterial material, byte[] data) throws Exception {
+        if (data.length < material.prefixLength) {
+            throw new EncryptionException("Encrypted data is shorter than the IV");
+        }
+        return material.cipherSlots.use(slot -> {
+            Cipher cipher = slot.cipher(Cipher.DECRYPT_MODE);
+            if (material.ivLength > 0) {
+                material.init(cipher, Cipher.DECRYPT_MODE, data, material.headerLength);
+            }
+            return cipher.doFinal(data, material.prefixLength, data.length - material.prefixLength);
+        });
+    }
+
+    private int decryptBuffer(KeyMaterial material, ByteBuffer in, ByteBuffer out) throws Exception {
+        if (in.remaining() < material.prefixLength) {
+            throw new EncryptionException("Encrypted data is shorter than the IV");
+        }
+        return material.cipherSlots.use(slot -> {
+            Cipher cipher = slot.cipher(Cipher.DECRYPT_MODE);
+            in.position(in.position() + material.headerLength);
+            if (material.ivLength > 0) {
+                in.get(slot.iv);
+                material.init(cipher, Cipher.DECRYPT_MODE, slot.iv, 0);
+            }
+            return cipher.doFinal(in, out);
+        });
+    }
+
+    /**
+     * Immutable snapshot of the configured key, the key ring versions and the current key,
+     * replaced as a whole when the configuration or the key ring file changes
+     */
+    private static final class KeySet {
+        private final String key;
+        private final String algorithm;
+        private final String location;
+        private final KeyMaterial legacy;
+        private final KeyMaterial[] versions;
+        private final KeyMaterial current;
+        private final FileTime modified;
+        private final AtomicLong nextReloadCheck;
+
+        KeySet(EncryptionProperties.AesProperties aes, KeyMaterial legacy, KeyMaterial[] versions,
+                KeyMaterial current, FileTime modified) {
+            this.key = aes.getKey();
+            this.algorithm = aes.getAlgorithm();
+            this.location = location(aes);
+            this.legacy = legacy;
+            this.versions = versions;
+            this.current = current;
+            this.modified = modified;
+            this.nextReloadCheck = new AtomicLong(System.nanoTime() + aes.getKeyRing().getReloadInterval().toNanos());
+        }
+
+        static String location(EncryptionProperties.AesProperties aes) {
+            String location = aes.getKeyRing().getLocation();
+            return location == null || location.isBlank() ? null : location.trim();
+        }
+
+        boolean matches(EncryptionProperties.AesProperties aes) {
+            return key.equals(aes.getKey()) && algorithm.equals(aes.getAlgorithm())
+                && Objects.equals(location, location(aes));
+        }
+
+        boolean versioned() {
+            return versions.length > 0;
+        }
+
+        /**
+         * Claim the next reload check if it is due, so only one thread checks the file per interval
+         */
+        boolean reloadDue(Duration interval) {
+            if (location == null) {
+                return false;
+            }
+            long now = System.nanoTime();
+            long next = nextReloadCheck.get();
+            return now - next >= 0 && nextReloadCheck.compareAndSet(next, now + interval.toNanos());
+        }
+
+        /**
+         * Key named by the key ID at the given offset, or the configured key if there is none
+         */
+        KeyMaterial forCiphertext(byte[] data, int offset, int length) {
+            if (!versioned() || length < KEY_ID_LENGTH
+                    || data[offset] != KEY_ID_MAGIC_0 || data[offset + 1] != KEY_ID_MAGIC_1) {
+                return legacy;
+            }
+            KeyMaterial material = versions[data[offset + 2] & 0xff];
+            return material != null ? material : legacy;
+        }
+
+        KeyMaterial forCiphertext(ByteBuffer data) {
+            int position = data.position();
+            if (!versioned() || data.remaining() < KEY_ID_LENGTH
+                    || data.get(position) != KEY_ID_MAGIC_0 || data.get(position + 1) != KEY_ID_MAGIC_1) {
+                return legacy;
+            }
+            KeyMaterial material = versions[data.get(position + 2) & 0xff];
+            return material != null ? material : legacy;
+        }
+    }
+
+    /**
+     * Immutable AES key of one version with the prebuilt SecretKey, the IV generator for
+     * the mode and this key's per-thread ciphers
+     */
+    private static final class KeyMaterial {
+        private static final int GCM_NONCE_LENGTH = 12;
+        private static final int GCM_TAG_BITS = 128;
+        private static final int BLOCK_SIZE = 16;
+        private static final SecureRandom RANDOM = new SecureRandom();
+
+        private final String algorithm;
+        private final CryptoProviders cryptoProviders;
+        private final SecretKey secretKey;
+        private final int version;
+        private final boolean gcm;
+        private final boolean padded;
+        private final int headerLength;
+        private final int ivLength;
+        private final int prefixLength;
+        private final int nonceFixedField;
+        private final AtomicLong nonceCounter;
+        private final ThreadCache<CipherSlot> cipherSlots = new ThreadCache<>(() -> new CipherSlot(this));
+
+        /**
+         * @param version Key ring version written as the key ID, or 0 for no key ID
+         */
+        KeyMaterial(byte[] key, String algorithm, int version, CryptoProviders cryptoProviders) {
+            this.algorithm = algorithm;
+            this.cryptoProviders = cryptoProviders;
+            this.secretKey = new SecretKeySpec(key, "AES");
+            this.version = version;
+            String[] transformation = algorithm.split("/");
+            String mode = transformation.length < 2 ? "ECB" : transformation[1].toUpperCase();
+            this.gcm = "GCM".equals(mode);
+            this.padded = !gcm && (transformation.length < 3 || !"NoPadding".equalsIgnoreCase(transformation[2]));
+            this.headerLength = version > 0 ? KEY_ID_LENGTH : 0;
+            this.ivLength = "ECB".equals(mode) ? 0 : gcm ? GCM_NONCE_LENGTH : BLOCK_SIZE;
+            this.prefixLength = headerLength + ivLength;
+            this.nonceFixedField = RANDOM.nextInt();
+            this.nonceCounter = new AtomicLong(RANDOM.nextLong());
+        }
+
+        boolean sameKey(byte[] key, String algorithm) {
+            return this.algorithm.equals(algorithm) && MessageDigest.isEqual(secretKey.getEncoded(), key);
+        }
+
+        int encryptedLength(int plainLength) {
+            int cipherLength = gcm ? plainLength + GCM_TAG_BITS / 8
+                : padded ? (plainLength / BLOCK_SIZE + 1) * BLOCK_SIZE
+                : plainLength;
+            return prefixLength + cipherLength;
+        }
+
+        /**
+         * Write the key ID, if any, followed by the IV to the front of output
+         */
+        void writePrefix(byte[] output, byte[] iv) {
+            if (headerLength > 0) {
+                output[0] = KEY_ID_MAGIC_0;
+                output[1] = KEY_ID_MAGIC_1;
+                output[2] = (byte) version;
+            }
+            System.arraycopy(iv, 0, output, headerLength, ivLength);
+        }
+
+        void putPrefix(ByteBuffer output, byte[] iv) {
+            if (headerLength > 0) {
+                output.put(KEY_ID_MAGIC_0).put(KEY_ID_MAGIC_1).put((byte) version);
+            }
+            output.put(iv, 0, ivLength);
+        }
+
+        /**
+         * Create a cipher; modes without an IV return to their initialized state after
+         * doFinal and are initialized once here, others are initialized per call
+         */
+        Cipher newCipher(int mode) throws Exception {
+            Cipher cipher = cryptoProviders.cipher(CryptoProviders.Operation.AES, algorithm);
+            if (ivLength == 0) {
+                cipher.init(mode, secretKey);
+            }
+            return cipher;
+        }
+
+        void init(Cipher cipher, int mode, byte[] iv, int offset) throws Exception {
+            AlgorithmParameterSpec spec = gcm
+                ? new GCMParameterSpec(GCM_TAG_BITS, iv, offset, ivLength)
+                : new IvParameterSpec(iv, offset, ivLength);
+            cipher.init(mode, secretKey, spec);
+        }
+
+        /**
+         * Fill the buffer with the next IV; GCM nonces never repeat for this key material
+         */
+        void nextIv(byte[] iv) {
+            if (!gcm) {
+                RANDOM.nextBytes(iv);
+                return;
+            }
+            long counter = nonceCounter.getAndIncrement();
+            iv[0] = (byte) (nonceFixedField >>> 24);
+            iv[1] = (byte) (nonceFixedField >>> 16);
+            iv[2] = (byte) (nonceFixedField >>> 8);
+            iv[3] = (byte) nonceFixedField;
+            for (int i = 11; i >= 4; i--) {
+                iv[i] = (byte) counter;
+                counter >>>= 8;
+            }
+        }
+    }
+
+    /**
+     * Per-thread encrypt/decrypt ciphers and IV buffer bound to a specific KeyMaterial
+     */
+    private static final class CipherSlot {
+        private final KeyMaterial material;
+        private final byte[] iv;
+        private Cipher encryptCipher;
+        private Cipher decryptCipher;
+
+        CipherSlot(KeyMaterial material) {
+            this.material = material;
+            this.iv = new byte[material.ivLength];
+        }
+
+        Cipher cipher(int mode) throws Exception {
+            boolean encrypt = mode == Cipher.ENCRYPT_MODE;
+            Cipher cipher = encrypt ? encryptCipher : decryptCipher;
+            if (cipher == null) {
+                cipher = material.newCipher(mode);
+                if (encrypt) {
+                    encryptCipher = cipher;
+                } else {
+                    decryptCipher = cipher;
+                }
+            }
+            return cipher;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.encryption.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Compression stage applied to plaintext before encryption
+ *
+ * Ciphertext cannot be compressed by the HTTP layer, so large payloads are compressed
+ * here first. Compressed payloads are self-describing: gzip starts with 1f 8b and zlib
+ * (DEFLATE) with a 78 header byte, neither of which can start a JSON document, so
+ * clients detect compression after decryption without extra metadata. Payloads below
+ * the configured threshold, or that do not shrink, are left as they are.
+ *
+ * Deflater instances are cached per thread (see {@link ThreadCache}) to avoid reallocating
+ * native zlib state.
+ */
+@Component
+public class CompressionUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompressionUtils.class);
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    private final EncryptionProperties encryptionProperties;
+
+    private final ThreadCache<Deflater> zlibDeflaters = new ThreadCache<>(() -> new Deflater(Deflater.BEST_SPEED));
+    private final ThreadCache<Deflater> rawDeflaters = new ThreadCache<>(() -> new Deflater(Deflater.BEST_SPEED, true));
+
+    public CompressionUtils(EncryptionProperties encryptionProperties) {
+        this.encryptionProperties = encryptionProperties;
+    }
+
+    /**
+     * Compression formats selectable through the compression attribute of @Encrypt
+     */
+    public enum Format {
+        NONE,
+        GZIP,
+        DEFLATE;
+
+        public static Format of(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new EncryptionException("Unsupported compression format: " + format, e);
+            }
+        }
+    }
+
+    /**
+     * Compress data if it is at least the configured threshold and compression makes it smaller
+     *
+     * @param data Plain bytes
+     * @param format Compression format
+     * @return Compressed bytes, or the input unchanged
+     * @throws EncryptionException if compression fails
+     */
+    public byte[] compress(byte[] data, Format format) {
+        EncryptionProperties.CompressionProperties compression = encryptionProperties.getCompression();
+        if (format == Format.NONE || data.length < compression.getThreshold()) {
+            return data;
+        }
+
+        try {
+            boolean gzip = format == Format.GZIP;
+            byte[] compressed = (gzip ? rawDeflaters : zlibDeflaters)
+                .use(deflater -> deflate(deflater, compression.getLevel(), data, gzip));
+
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("{} Compression - Original length: {}, Compressed length: {}",
+                    format, data.length, compressed.length);
+            }
+
+            return compressed.length < data.length ? compressed : data;
+
+        } catch (Exception e) {
+            logger.error("{} compression failed for data length: {}", format, data.length, e);
+            throw new EncryptionException("Failed to compress data", e);
+        }
+    }
+
+    /**
+     * Decompress data produced by {@link #compress(byte[], Format)}, detecting the format
+     * from its leading bytes
+     *
+     * @param data Decrypted bytes, compressed or not
+     * @return Decompressed bytes, or the input unchanged if it is not compressed
+     * @throws EncryptionException if decompression fails
+     */
+    public byte[] decompress(byte[] data) {
+        boolean gzip = isGzip(data);
+        if (!gzip && !isZlib(data)) {
+            return data;
+        }
+
+        InputStream source = new ByteArrayInputStream(data);
+        try (InputStream in = gzip ? new GZIPInputStream(source) : new InflaterInputStream(source)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            logger.error("Decompression failed for data length: {}", data.length, e);
+            throw new EncryptionException("Failed to decompress data", e);
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, int level, byte[] data, boolean gzip) {
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(data);
+        deflater.finish();
+
+        int headerLength = gzip ? GZIP_HEADER.length : 0;
+        byte[] output = new byte[headerLength + Math.max(64, data.length / 4)];
+        System.arraycopy(GZIP_HEADER, 0, output, 0, headerLength);
+        int position = headerLength;
+        while (!deflater.finished()) {
+            if (position == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            position += deflater.deflate(output, position, output.length - position);
+        }
+
+        if (gzip) {
+            if (output.length - position < GZIP_TRAILER_LENGTH) {
+                output = Arrays.copyOf(output, position + GZIP_TRAILER_LENGTH);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            position = writeIntLE(output, position, (int) crc.getValue());
+            position = writeIntLE(output, position, data.length);
+        }
+        return Arrays.copyOf(output, position);
+    }
+
+    private static int writeIntLE(byte[] output, int position, int value) {
+        output[position] = (byte) value;
+        output[position + 1] = (byte) (value >>> 8);
+        output[position + 2] = (byte) (value >>> 16);
+        output[position + 3] = (byte) (value >>> 24);
+        return position + 4;
+    }
+
+    private static boolean isGzip(byte[] data) {
+        return data.length > 2 && data[0] == GZIP_HEADER[0] && data[1] == GZIP_HEADER[1];
+    }
+
+    private static boolean isZlib(byte[] data) {
+        return data.length > 2 && data[0] == 0x78 && ((data[0] & 0xff) << 8 | (data[1] & 0xff)) % 31 == 0;
+    }
+}
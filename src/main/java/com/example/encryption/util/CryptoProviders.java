@@ -0,0 +1,280 @@
+package com.example.encryption.util;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.spec.AlgorithmParameterSpec;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * JCA provider selection for the AES ciphers of AESUtils and the RSA ciphers of RSAUtils
+ *
+ * Each operation uses the provider configured in {@code encryption.provider}: a provider
+ * name such as SunJCE or BC, "default" for the JCA preference order, or "auto" to
+ * micro-benchmark every candidate provider on this host at startup and keep the fastest.
+ * BouncyCastle is registered when it is named, after the built-in providers, so it never
+ * changes the JCA default. Further providers plug in as java.security.Provider beans and
+ * can then be named or listed as candidates.
+ *
+ * Calibration encrypts and decrypts 1 KB with the configured AES transformation and a
+ * random 128-bit key, or 64 bytes with RSA PKCS#1 and a fresh key pair of the configured
+ * size, for the calibration time per candidate after a warm-up of the same length.
+ * Selections and measured rates are reported by the cryptoproviders actuator endpoint.
+ */
+@Component
+public class CryptoProviders {
+
+    private static final Logger logger = LoggerFactory.getLogger(CryptoProviders.class);
+
+    public static final String DEFAULT = "default";
+    public static final String AUTO = "auto";
+
+    /**
+     * RSA cipher transformation; plain "RSA" means no padding in BouncyCastle but PKCS#1 in SunJCE
+     */
+    static final String RSA_TRANSFORMATION = "RSA/ECB/PKCS1Padding";
+
+    private static final int AES_CALIBRATION_BYTES = 1024;
+    private static final int RSA_CALIBRATION_BYTES = 64;
+
+    /**
+     * Operation families with their own provider
+     */
+    public enum Operation {
+        AES, RSA
+    }
+
+    /**
+     * Provider chosen for an operation
+     *
+     * @param transformation Transformation the provider was chosen for
+     * @param provider Provider name
+     * @param calibrated Whether the provider was chosen by startup calibration
+     * @param opsPerSecond Measured encrypt/decrypt round trips per second by provider name, empty
+     *        unless calibrated
+     */
+    public record Selection(String transformation, String provider, boolean calibrated,
+            Map<String, Long> opsPerSecond) {
+    }
+
+    /**
+     * One encrypt/decrypt round trip measured during calibration
+     */
+    @FunctionalInterface
+    private interface RoundTrip {
+        void run() throws GeneralSecurityException;
+    }
+
+    /** Selected provider per operation; null uses the JCA preference order */
+    private final Map<Operation, Provider> providers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Selection> selections = new EnumMap<>(Operation.class);
+
+    public CryptoProviders(EncryptionProperties encryptionProperties, List<Provider> pluggedProviders) {
+        pluggedProviders.forEach(CryptoProviders::register);
+        EncryptionProperties.ProviderProperties config = encryptionProperties.getProvider();
+        select(Operation.AES, config.getAes(), encryptionProperties.getAes().getAlgorithm(), encryptionProperties);
+        select(Operation.RSA, config.getRsa(), RSA_TRANSFORMATION, encryptionProperties);
+    }
+
+    /**
+     * JCA default providers for every operation, for use outside a Spring context
+     */
+    public static CryptoProviders defaults() {
+        return new CryptoProviders(new EncryptionProperties(), List.of());
+    }
+
+    /**
+     * Create a cipher from the provider selected for the operation
+     *
+     * @param operation Operation family the cipher belongs to
+     * @param transformation Cipher transformation
+     */
+    public Cipher cipher(Operation operation, String transformation) throws GeneralSecurityException {
+        Provider provider = providers.get(operation);
+        return provider != null ? Cipher.getInstance(transformation, provider) : Cipher.getInstance(transformation);
+    }
+
+    /**
+     * Provider selection per operation, for reporting
+     */
+    public Map<Operation, Selection> getSelections() {
+        return Collections.unmodifiableMap(selections);
+    }
+
+    private void select(Operation operation, String configured, String transformation,
+            EncryptionProperties encryptionProperties) {
+        Selection selection;
+        try {
+            if (AUTO.equalsIgnoreCase(configured)) {
+                selection = calibrate(operation, transformation, encryptionProperties);
+            } else if (DEFAULT.equalsIgnoreCase(configured)) {
+                providers.put(operation, null);
+                selection = new Selection(transformation, Cipher.getInstance(transformation).getProvider().getName(),
+                    false, Map.of());
+            } else {
+                Provider provider = resolve(configured);
+                Cipher.getInstance(transformation, provider);
+                providers.put(operation, provider);
+                selection = new Selection(transformation, provider.getName(), false, Map.of());
+            }
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Provider " + configured + " does not support " + transformation, e);
+        }
+        selections.put(operation, selection);
+        logger.info("{} cipher provider: {}{}", operation, selection.provider(),
+            selection.calibrated() ? " (calibrated, round trips/s: " + selection.opsPerSecond() + ")" : "");
+    }
+
+    /**
+     * Measure every candidate provider that supports the transformation and keep the fastest
+     */
+    private Selection calibrate(Operation operation, String transformation, EncryptionProperties encryptionProperties)
+            throws GeneralSecurityException {
+        EncryptionProperties.ProviderProperties config = encryptionProperties.getProvider();
+        Map<String, Long> rates = new LinkedHashMap<>();
+        Provider fastest = null;
+        long fastestRate = -1;
+        for (String name : config.getCandidates()) {
+            Provider provider;
+            try {
+                provider = resolve(name);
+            } catch (EncryptionException e) {
+                logger.warn("Skipping calibration candidate: {}", e.getMessage());
+                continue;
+            }
+            long rate;
+            try {
+                RoundTrip roundTrip = operation == Operation.AES
+                    ? aesRoundTrip(transformation, provider)
+                    : rsaRoundTrip(provider, encryptionProperties.getRsa().getKeySize());
+                rate = measure(roundTrip, config.getCalibrationTime());
+            } catch (GeneralSecurityException e) {
+                logger.info("Provider {} does not support {}, skipping", provider.getName(), transformation);
+                continue;
+            }
+            rates.put(provider.getName(), rate);
+            if (rate > fastestRate) {
+                fastest = provider;
+                fastestRate = rate;
+            }
+        }
+        if (fastest == null) {
+            throw new EncryptionException("No candidate provider of " + config.getCandidates() + " supports "
+                + transformation);
+        }
+        providers.put(operation, fastest);
+        return new Selection(transformation, fastest.getName(), true, rates);
+    }
+
+    private static RoundTrip aesRoundTrip(String transformation, Provider provider) throws GeneralSecurityException {
+        SecureRandom random = new SecureRandom();
+        byte[] keyBytes = new byte[16];
+        random.nextBytes(keyBytes);
+        SecretKey key = new SecretKeySpec(keyBytes, "AES");
+        Cipher encryptCipher = Cipher.getInstance(transformation, provider);
+        Cipher decryptCipher = Cipher.getInstance(transformation, provider);
+
+        String[] parts = transformation.split("/");
+        String mode = parts.length < 2 ? "ECB" : parts[1].toUpperCase();
+        byte[] iv = new byte["GCM".equals(mode) ? 12 : 16];
+        random.nextBytes(iv);
+        byte[] data = new byte[AES_CALIBRATION_BYTES];
+
+        return () -> {
+            // A fresh IV per round, GCM refuses to encrypt twice with the same key and IV
+            iv[0]++;
+            if (iv[0] == 0) {
+                iv[1]++;
+            }
+            AlgorithmParameterSpec spec = "ECB".equals(mode) ? null
+                : "GCM".equals(mode) ? new GCMParameterSpec(128, iv) : new IvParameterSpec(iv);
+            encryptCipher.init(Cipher.ENCRYPT_MODE, key, spec);
+            byte[] encrypted = encryptCipher.doFinal(data);
+            decryptCipher.init(Cipher.DECRYPT_MODE, key, spec);
+            decryptCipher.doFinal(encrypted);
+        };
+    }
+
+    private static RoundTrip rsaRoundTrip(Provider provider, int keySize) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(keySize);
+        KeyPair keyPair = generator.generateKeyPair();
+        Cipher encryptCipher = Cipher.getInstance(RSA_TRANSFORMATION, provider);
+        Cipher decryptCipher = Cipher.getInstance(RSA_TRANSFORMATION, provider);
+        byte[] data = new byte[RSA_CALIBRATION_BYTES];
+
+        return () -> {
+            encryptCipher.init(Cipher.ENCRYPT_MODE, keyPair.getPublic());
+            byte[] encrypted = encryptCipher.doFinal(data);
+            decryptCipher.init(Cipher.DECRYPT_MODE, keyPair.getPrivate());
+            decryptCipher.doFinal(encrypted);
+        };
+    }
+
+    /**
+     * Round trips per second after a warm-up of the same duration
+     */
+    private static long measure(RoundTrip roundTrip, Duration duration) throws GeneralSecurityException {
+        long nanos = duration.toNanos();
+        long warmupEnd = System.nanoTime() + nanos;
+        while (System.nanoTime() - warmupEnd < 0) {
+            roundTrip.run();
+        }
+
+        long start = System.nanoTime();
+        long count = 0;
+        long elapsed;
+        do {
+            roundTrip.run();
+            count++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < nanos);
+        return count * 1_000_000_000L / elapsed;
+    }
+
+    /**
+     * Installed provider by name; BouncyCastle is registered on first use
+     */
+    private static Provider resolve(String name) {
+        Provider provider = Security.getProvider(name);
+        if (provider == null && BouncyCastleProvider.PROVIDER_NAME.equals(name)) {
+            register(new BouncyCastleProvider());
+            provider = Security.getProvider(name);
+        }
+        if (provider == null) {
+            throw new EncryptionException("JCA provider is not installed: " + name);
+        }
+        return provider;
+    }
+
+    /**
+     * Install a provider after the existing ones, unless one with its name is installed
+     */
+    private static void register(Provider provider) {
+        if (Security.getProvider(provider.getName()) == null) {
+            Security.addProvider(provider);
+        }
+    }
+}
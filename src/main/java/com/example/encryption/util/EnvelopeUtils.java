@@ -0,0 +1,365 @@
+package com.example.encryption.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Hybrid RSA + AES-GCM envelope encryption utility class
+ *
+ * The payload is encrypted with a random AES-256 data key in GCM mode and only the
+ * data key is wrapped with RSA, so payloads of any size can be sent to an RSA key holder.
+ *
+ * Envelope layout (Base64 encoded, or raw for binary transports):
+ * [2 bytes wrapped key length][wrapped key][12 bytes nonce][ciphertext + 16 bytes tag]
+ *
+ * Data keys are reused per recipient for {@code encryption.rsa.envelope-key-ttl}, and
+ * unwrapped data keys are cached per wrapped key, so repeated messages within a session
+ * skip the RSA operation on both sides.
+ */
+@Component
+public class EnvelopeUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvelopeUtils.class);
+
+    private static final String DATA_KEY_ALGORITHM = "AES";
+    private static final String DATA_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int DATA_KEY_SIZE = 256;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final EncryptionProperties encryptionProperties;
+    private final RSAUtils rsaUtils;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final Map<String, DataKey> dataKeysByRecipient;
+    private final Map<ByteBuffer, DataKey> dataKeysByWrappedKey;
+
+    private final ThreadCache<Cipher> ciphers = new ThreadCache<>(() -> {
+        try {
+            return Cipher.getInstance(DATA_TRANSFORMATION);
+        } catch (Exception e) {
+            throw new EncryptionException("AES-GCM cipher is not available", e);
+        }
+    });
+
+    private final String serverPublicKey;
+    private final String serverPrivateKey;
+
+    public EnvelopeUtils(EncryptionProperties encryptionProperties, RSAUtils rsaUtils) {
+        this.encryptionProperties = encryptionProperties;
+        this.rsaUtils = rsaUtils;
+
+        int cacheSize = encryptionProperties.getRsa().getKeyCacheSize();
+        this.dataKeysByRecipient = lruMap(cacheSize);
+        this.dataKeysByWrappedKey = lruMap(cacheSize);
+
+        EncryptionProperties.RsaProperties rsa = encryptionProperties.getRsa();
+        if (isBlank(rsa.getPublicKey()) || isBlank(rsa.getPrivateKey())) {
+            logger.warn("No RSA server key pair configured, generating an ephemeral key pair for envelope encryption");
+            Map<String, String> keys = rsaUtils.generateKeyPair();
+            this.serverPublicKey = keys.get("publicKey");
+            this.serverPrivateKey = keys.get("privateKey");
+        } else {
+            this.serverPublicKey = rsa.getPublicKey();
+            this.serverPrivateKey = rsa.getPrivateKey();
+        }
+    }
+
+    /**
+     * Get the server public key clients should use to send envelopes to this server
+     *
+     * @return Base64 encoded server public key
+     */
+    public String getServerPublicKey() {
+        return serverPublicKey;
+    }
+
+    /**
+     * Server private key, for signing with the key pair behind {@link #getServerPublicKey()}
+     */
+    String getServerPrivateKey() {
+        return serverPrivateKey;
+    }
+
+    /**
+     * Encrypt data into an envelope for the holder of the given public key
+     *
+     * @param data Plain text data to encrypt
+     * @param publicKeyStr Base64 encoded public key of the recipient
+     * @return Base64 encoded envelope
+     * @throws EncryptionException if encryption fails
+     */
+    public String encrypt(String data, String publicKeyStr) {
+        if (data == null || data.isEmpty()) {
+            throw new EncryptionException("Data to encrypt cannot be null or empty");
+        }
+        return encrypt(data.getBytes(StandardCharsets.UTF_8), publicKeyStr);
+    }
+
+    /**
+     * Encrypt already encoded UTF-8 data into an envelope for the holder of the given public key
+     *
+     * @param plainBytes Plain bytes to encrypt
+     * @param publicKeyStr Base64 encoded public key of the recipient
+     * @return Base64 encoded envelope
+     * @throws EncryptionException if encryption fails
+     */
+    public String encrypt(byte[] plainBytes, String publicKeyStr) {
+        return Base64.getEncoder().encodeToString(encryptToBytes(plainBytes, publicKeyStr));
+    }
+
+    /**
+     * Encrypt data into a raw envelope, for binary transports that skip Base64
+     *
+     * @param plainBytes Plain bytes to encrypt
+     * @param publicKeyStr Base64 encoded public key of the recipient
+     * @return Envelope bytes
+     * @throws EncryptionException if encryption fails
+     */
+    public byte[] encryptToBytes(byte[] plainBytes, String publicKeyStr) {
+        if (plainBytes == null || plainBytes.length == 0) {
+            throw new EncryptionException("Data to encrypt cannot be null or empty");
+        }
+        if (publicKeyStr == null || publicKeyStr.isEmpty()) {
+            throw new EncryptionException("Public key cannot be null or empty");
+        }
+
+        try {
+            DataKey dataKey = dataKeyFor(publicKeyStr);
+            byte[] wrappedKey = dataKey.wrappedKey;
+
+            byte[] nonce = new byte[NONCE_LENGTH];
+            secureRandom.nextBytes(nonce);
+
+            ByteBuffer envelope = ciphers.use(cipher -> {
+                cipher.init(Cipher.ENCRYPT_MODE, dataKey.key, new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+                cipher.updateAAD(wrappedKey);
+
+                ByteBuffer output = ByteBuffer.allocate(
+                    2 + wrappedKey.length + NONCE_LENGTH + cipher.getOutputSize(plainBytes.length));
+                output.putShort((short) wrappedKey.length);
+                output.put(wrappedKey);
+                output.put(nonce);
+                cipher.doFinal(ByteBuffer.wrap(plainBytes), output);
+                return output;
+            });
+
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("Envelope Encryption - Original length: {}, Encrypted length: {}",
+                    plainBytes.length, envelope.capacity());
+            }
+
+            return envelope.array();
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Envelope encryption failed for data length: {}", plainBytes.length, e);
+            throw new EncryptionException("Failed to encrypt data using RSA envelope", e);
+        }
+    }
+
+    /**
+     * Decrypt an envelope addressed to this server
+     *
+     * @param envelope Base64 encoded envelope
+     * @return Decrypted plain text data
+     * @throws EncryptionException if decryption fails
+     */
+    public String decrypt(String envelope) {
+        return decrypt(envelope, serverPrivateKey);
+    }
+
+    /**
+     * Decrypt an envelope using the given private key
+     *
+     * @param envelope Base64 encoded envelope
+     * @param privateKeyStr Base64 encoded private key of the recipient
+     * @return Decrypted plain text data
+     * @throws EncryptionException if decryption fails
+     */
+    public String decrypt(String envelope, String privateKeyStr) {
+        if (envelope == null || envelope.isEmpty()) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
+
+        byte[] envelopeBytes;
+        try {
+            envelopeBytes = Base64.getDecoder().decode(envelope);
+        } catch (IllegalArgumentException e) {
+            logger.error("Envelope decryption failed for data length: {}", envelope.length(), e);
+            throw new EncryptionException("Failed to decrypt data using RSA envelope", e);
+        }
+        return new String(decrypt(envelopeBytes, privateKeyStr), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decrypt a raw envelope addressed to this server
+     *
+     * @param envelope Envelope bytes
+     * @return Decrypted plain bytes
+     * @throws EncryptionException if decryption fails
+     */
+    public byte[] decrypt(byte[] envelope) {
+        return decrypt(envelope, serverPrivateKey);
+    }
+
+    /**
+     * Decrypt a raw envelope using the given private key
+     *
+     * @param envelope Envelope bytes
+     * @param privateKeyStr Base64 encoded private key of the recipient
+     * @return Decrypted plain bytes
+     * @throws EncryptionException if decryption fails
+     */
+    public byte[] decrypt(byte[] envelope, String privateKeyStr) {
+        if (envelope == null || envelope.length == 0) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(envelope);
+            int wrappedKeyLength = Short.toUnsignedInt(buffer.getShort());
+            if (wrappedKeyLength == 0 || buffer.remaining() < wrappedKeyLength + NONCE_LENGTH) {
+                throw new EncryptionException("Malformed envelope");
+            }
+
+            ByteBuffer wrappedKey = buffer.slice(buffer.position(), wrappedKeyLength);
+            buffer.position(buffer.position() + wrappedKeyLength);
+            SecretKey key = unwrappedKeyFor(wrappedKey, privateKeyStr);
+
+            byte[] nonce = new byte[NONCE_LENGTH];
+            buffer.get(nonce);
+
+            ByteBuffer plain = ciphers.use(cipher -> {
+                cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+                cipher.updateAAD(wrappedKey.duplicate());
+                ByteBuffer output = ByteBuffer.allocate(cipher.getOutputSize(buffer.remaining()));
+                cipher.doFinal(buffer, output);
+                return output;
+            });
+
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("Envelope Decryption - Encrypted length: {}, Decrypted length: {}",
+                    envelope.length, plain.position());
+            }
+
+            return plain.hasRemaining() ? Arrays.copyOf(plain.array(), plain.position()) : plain.array();
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Envelope decryption failed for data length: {}", envelope.length, e);
+            throw new EncryptionException("Failed to decrypt data using RSA envelope", e);
+        }
+    }
+
+    /**
+     * Get the session data key for a recipient, wrapping a new one if none is cached or it expired
+     */
+    private DataKey dataKeyFor(String publicKeyStr) throws Exception {
+        long now = System.nanoTime();
+        DataKey dataKey;
+        synchronized (dataKeysByRecipient) {
+            dataKey = dataKeysByRecipient.get(publicKeyStr);
+        }
+        if (dataKey != null && !dataKey.isExpired(now)) {
+            return dataKey;
+        }
+
+        KeyGenerator generator = KeyGenerator.getInstance(DATA_KEY_ALGORITHM);
+        generator.init(DATA_KEY_SIZE, secureRandom);
+        SecretKey key = generator.generateKey();
+        dataKey = new DataKey(key, rsaUtils.wrapKey(key, publicKeyStr), publicKeyStr, now + ttlNanos());
+
+        synchronized (dataKeysByRecipient) {
+            dataKeysByRecipient.put(publicKeyStr, dataKey);
+        }
+        return dataKey;
+    }
+
+    /**
+     * Get the unwrapped data key for a wrapped key, running RSA only on a cache miss
+     *
+     * A cached key is only returned for the private key that unwrapped it, so another
+     * private key still has to unwrap the envelope itself and fails if it cannot.
+     */
+    private SecretKey unwrappedKeyFor(ByteBuffer wrappedKey, String privateKeyStr) {
+        long now = System.nanoTime();
+        DataKey dataKey;
+        synchronized (dataKeysByWrappedKey) {
+            dataKey = dataKeysByWrappedKey.get(wrappedKey);
+        }
+        if (dataKey != null && !dataKey.isExpired(now) && dataKey.owner.equals(privateKeyStr)) {
+            return dataKey.key;
+        }
+
+        byte[] wrappedBytes = new byte[wrappedKey.remaining()];
+        wrappedKey.duplicate().get(wrappedBytes);
+        SecretKey key = rsaUtils.unwrapKey(wrappedBytes, DATA_KEY_ALGORITHM, privateKeyStr);
+
+        synchronized (dataKeysByWrappedKey) {
+            dataKeysByWrappedKey.put(ByteBuffer.wrap(wrappedBytes), new DataKey(key, wrappedBytes, privateKeyStr,
+                now + ttlNanos()));
+        }
+        return key;
+    }
+
+    private long ttlNanos() {
+        return encryptionProperties.getRsa().getEnvelopeKeyTtl().toNanos();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Data key together with its RSA wrapped form, the RSA key it was wrapped for or
+     * unwrapped with, and expiry
+     */
+    private static final class DataKey {
+        private final SecretKey key;
+        private final byte[] wrappedKey;
+        private final String owner;
+        private final long expiresAt;
+
+        DataKey(SecretKey key, byte[] wrappedKey, String owner, long expiresAt) {
+            this.key = key;
+            this.wrappedKey = wrappedKey;
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.encryption.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Segmented AES-GCM encryption of files of arbitrary size
+ *
+ * Files are split into fixed-size plaintext segments that are encrypted independently
+ * with the current AES key, so segments are processed in parallel through memory
+ * mapped regions with bounded heap use, and any single segment can be decrypted on its own.
+ *
+ * File layout:
+ * [4 bytes magic "AESF"][1 byte version][4 bytes segment size][8 bytes plaintext length]
+ * [8 bytes nonce prefix][1 byte AES key version] followed by one [ciphertext + 16 bytes tag]
+ * per segment. Version 1 files have no key version byte and use the configured AES key.
+ *
+ * The nonce of segment i is the random per-file prefix followed by i, and the header is
+ * authenticated with every segment, so reordered, truncated or mixed segments fail to decrypt.
+ */
+@Component
+public class FileEncryptionUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileEncryptionUtils.class);
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int MAGIC = 0x41455346;
+    private static final byte VERSION_1 = 1;
+    private static final byte VERSION = 2;
+    private static final int VERSION_1_HEADER_LENGTH = 25;
+    private static final int HEADER_LENGTH = 26;
+    private static final int NONCE_PREFIX_LENGTH = 8;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+
+    private final EncryptionProperties encryptionProperties;
+    private final AESUtils aesUtils;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final ThreadCache<Cipher> ciphers = new ThreadCache<>(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("AES-GCM cipher is not available", e);
+        }
+    });
+
+    public FileEncryptionUtils(EncryptionProperties encryptionProperties, AESUtils aesUtils) {
+        this.encryptionProperties = encryptionProperties;
+        this.aesUtils = aesUtils;
+    }
+
+    /**
+     * Encrypt a file into the segmented format
+     *
+     * @param source Plain file
+     * @param target Encrypted file, created or replaced
+     * @throws EncryptionException if the files cannot be read or written or encryption fails
+     */
+    public void encryptFile(Path source, Path target) {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            secureRandom.nextBytes(noncePrefix);
+            int keyVersion = aesUtils.currentKeyVersion();
+            FileHeader header = new FileHeader(VERSION, segmentSize(), in.size(), noncePrefix, keyVersion);
+            SecretKey key = aesUtils.secretKey(keyVersion);
+
+            try (FileChannel out = openTarget(target)) {
+                out.write(ByteBuffer.wrap(header.bytes), 0);
+                presize(out, header.encryptedLength());
+                processSegments(header, segment -> {
+                    ByteBuffer plain = in.map(FileChannel.MapMode.READ_ONLY,
+                        header.plainOffset(segment), header.plainLength(segment));
+                    ByteBuffer encrypted = out.map(FileChannel.MapMode.READ_WRITE,
+                        header.segmentOffset(segment), header.plainLength(segment) + TAG_LENGTH);
+                    doFinal(Cipher.ENCRYPT_MODE, key, header, segment, plain, encrypted);
+                });
+            } catch (EncryptionException | IOException e) {
+                deleteQuietly(target);
+                throw e;
+            }
+
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("File Encryption - Plain length: {}, Segments: {}, Took: {} ms", header.plainLength,
+                    header.segmentCount(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (IOException e) {
+            logger.error("File encryption failed for: {}", source, e);
+            throw new EncryptionException("Failed to encrypt file " + source, e);
+        }
+    }
+
+    /**
+     * Decrypt a file in the segmented format
+     *
+     * The target is deleted if any segment fails authentication, so unverified
+     * plaintext is never left behind.
+     *
+     * @param source Encrypted file
+     * @param target Plain file, created or replaced
+     * @throws EncryptionException if the files cannot be read or written or decryption fails
+     */
+    public void decryptFile(Path source, Path target) {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            FileHeader header = readHeader(in);
+            if (in.size() != header.encryptedLength()) {
+                throw new EncryptionException("Encrypted file length does not match its header: " + source);
+            }
+            SecretKey key = aesUtils.secretKey(header.keyVersion);
+
+            try (FileChannel out = openTarget(target)) {
+                presize(out, header.plainLength);
+                processSegments(header, segment -> {
+                    ByteBuffer encrypted = in.map(FileChannel.MapMode.READ_ONLY,
+                        header.segmentOffset(segment), header.plainLength(segment) + TAG_LENGTH);
+                    ByteBuffer plain = out.map(FileChannel.MapMode.READ_WRITE,
+                        header.plainOffset(segment), header.plainLength(segment));
+                    doFinal(Cipher.DECRYPT_MODE, key, header, segment, encrypted, plain);
+                });
+            } catch (EncryptionException | IOException e) {
+                deleteQuietly(target);
+                throw e;
+            }
+
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("File Decryption - Plain length: {}, Segments: {}, Took: {} ms", header.plainLength,
+                    header.segmentCount(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (IOException e) {
+            logger.error("File decryption failed for: {}", source, e);
+            throw new EncryptionException("Failed to decrypt file " + source, e);
+        }
+    }
+
+    /**
+     * Decrypt a single segment of an encrypted file without reading the rest of it
+     *
+     * @param source Encrypted file
+     * @param segment Zero-based segment index
+     * @return Plain bytes of the segment
+     * @throws EncryptionException if the segment does not exist or fails to decrypt
+     */
+    public byte[] decryptSegment(Path source, int segment) {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            FileHeader header = readHeader(in);
+            if (segment < 0 || segment >= header.segmentCount()) {
+                throw new EncryptionException("Segment " + segment + " out of range, file has "
+                    + header.segmentCount() + " segments");
+            }
+
+            ByteBuffer encrypted = in.map(FileChannel.MapMode.READ_ONLY,
+                header.segmentOffset(segment), header.plainLength(segment) + TAG_LENGTH);
+            byte[] plain = new byte[header.plainLength(segment)];
+            doFinal(Cipher.DECRYPT_MODE, aesUtils.secretKey(header.keyVersion), header, segment,
+                encrypted, ByteBuffer.wrap(plain));
+            return plain;
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Segment {} decryption failed for: {}", segment, source, e);
+            throw new EncryptionException("Failed to decrypt segment " + segment + " of " + source, e);
+        }
+    }
+
+    /**
+     * Number of segments in an encrypted file
+     *
+     * @param source Encrypted file
+     * @return Segment count
+     * @throws EncryptionException if the file cannot be read or is not in the segmented format
+     */
+    public int segmentCount(Path source) {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            return readHeader(in).segmentCount();
+        } catch (IOException e) {
+            throw new EncryptionException("Failed to read encrypted file header of " + source, e);
+        }
+    }
+
+    /**
+     * Open the target for writing, creating or truncating it
+     */
+    private static FileChannel openTarget(Path target) throws IOException {
+        return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private int segmentSize() {
+        long segmentSize = encryptionProperties.getFile().getSegmentSize().toBytes();
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE - TAG_LENGTH) {
+            throw new EncryptionException("Invalid file segment size: " + segmentSize);
+        }
+        return (int) segmentSize;
+    }
+
+    /**
+     * Run a task for every segment, in parallel on the common ForkJoin pool
+     */
+    private static void processSegments(FileHeader header, SegmentTask task) {
+        IntStream.range(0, header.segmentCount()).parallel().forEach(segment -> {
+            try {
+                task.process(segment);
+            } catch (Exception e) {
+                throw new EncryptionException("Failed to process segment " + segment, e);
+            }
+        });
+    }
+
+    /**
+     * Encrypt or decrypt one segment with its nonce and the header as AAD
+     */
+    private int doFinal(int mode, SecretKey key, FileHeader header, int segment, ByteBuffer input, ByteBuffer output)
+            throws Exception {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        System.arraycopy(header.noncePrefix, 0, nonce, 0, NONCE_PREFIX_LENGTH);
+        nonce[8] = (byte) (segment >>> 24);
+        nonce[9] = (byte) (segment >>> 16);
+        nonce[10] = (byte) (segment >>> 8);
+        nonce[11] = (byte) segment;
+
+        return ciphers.use(cipher -> {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+            cipher.updateAAD(header.bytes);
+            return cipher.doFinal(input, output);
+        });
+    }
+
+    /**
+     * Extend a file to its final length up front so segments can be mapped concurrently
+     */
+    private static void presize(FileChannel channel, long length) throws IOException {
+        if (length > channel.size()) {
+            channel.write(ByteBuffer.allocate(1), length - 1);
+        }
+    }
+
+    private static FileHeader readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        buffer.limit(VERSION_1_HEADER_LENGTH);
+        readFully(channel, buffer);
+        if (buffer.get(4) != VERSION_1) {
+            buffer.limit(HEADER_LENGTH);
+            readFully(channel, buffer);
+        }
+        return FileHeader.parse(buffer.flip());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new EncryptionException("Encrypted file is shorter than its header");
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete incomplete file: {}", path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentTask {
+        void process(int segment) throws Exception;
+    }
+
+    /**
+     * Encrypted file header with the segment geometry derived from it
+     */
+    private static final class FileHeader {
+        private final byte[] bytes;
+        private final int segmentSize;
+        private final long plainLength;
+        private final byte[] noncePrefix;
+        private final int keyVersion;
+
+        FileHeader(byte version, int segmentSize, long plainLength, byte[] noncePrefix, int keyVersion) {
+            this.segmentSize = segmentSize;
+            this.plainLength = plainLength;
+            this.noncePrefix = noncePrefix;
+            this.keyVersion = keyVersion;
+            ByteBuffer buffer = ByteBuffer.allocate(version == VERSION_1 ? VERSION_1_HEADER_LENGTH : HEADER_LENGTH)
+                .putInt(MAGIC)
+                .put(version)
+                .putInt(segmentSize)
+                .putLong(plainLength)
+                .put(noncePrefix);
+            if (version != VERSION_1) {
+                buffer.put((byte) keyVersion);
+            }
+            this.bytes = buffer.array();
+            if (segmentCountLong() > Integer.MAX_VALUE) {
+                throw new EncryptionException("File too large for segment size " + segmentSize);
+            }
+        }
+
+        static FileHeader parse(ByteBuffer buffer) {
+            byte version = buffer.getInt() == MAGIC ? buffer.get() : 0;
+            if (version != VERSION_1 && version != VERSION) {
+                throw new EncryptionException("Not an encrypted file or unsupported version");
+            }
+            int segmentSize = buffer.getInt();
+            long plainLength = buffer.getLong();
+            if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE - TAG_LENGTH || plainLength < 0) {
+                throw new EncryptionException("Malformed encrypted file header");
+            }
+            byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            buffer.get(noncePrefix);
+            int keyVersion = version == VERSION_1 ? 0 : buffer.get() & 0xff;
+            return new FileHeader(version, segmentSize, plainLength, noncePrefix, keyVersion);
+        }
+
+        private long segmentCountLong() {
+            return (plainLength + segmentSize - 1) / segmentSize;
+        }
+
+        int segmentCount() {
+            return (int) segmentCountLong();
+        }
+
+        long encryptedLength() {
+            return bytes.length + plainLength + segmentCountLong() * TAG_LENGTH;
+        }
+
+        long plainOffset(int segment) {
+            return (long) segment * segmentSize;
+        }
+
+        int plainLength(int segment) {
+            return (int) Math.min(segmentSize, plainLength - plainOffset(segment));
+        }
+
+        long segmentOffset(int segment) {
+            return bytes.length + (long) segment * (segmentSize + TAG_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.encryption.util;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of parsed RSA keys keyed by their Base64 encoded form; SignatureUtils
+ * uses it for EC and Ed25519 keys as well
+ * 
+ * Parsing runs outside the lock, so a slow KeyFactory call never blocks other
+ * threads; two threads missing on the same key may both parse it, which is harmless.
+ */
+final class RSAKeyCache<T extends Key> {
+
+    /**
+     * Parses a Base64 encoded key on a cache miss
+     */
+    @FunctionalInterface
+    interface KeyParser<T> {
+        T parse(String encodedKey) throws GeneralSecurityException;
+    }
+
+    private final Map<String, T> entries;
+    private final KeyParser<T> parser;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    RSAKeyCache(int maxEntries, KeyParser<T> parser) {
+        this.parser = parser;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    T get(String encodedKey) throws GeneralSecurityException {
+        T key;
+        synchronized (entries) {
+            key = entries.get(encodedKey);
+        }
+        if (key != null) {
+            hits.increment();
+            return key;
+        }
+
+        misses.increment();
+        key = parser.parse(encodedKey);
+        synchronized (entries) {
+            entries.put(encodedKey, key);
+        }
+        return key;
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
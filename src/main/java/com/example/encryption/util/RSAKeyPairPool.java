@@ -0,0 +1,154 @@
+package com.example.encryption.util;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.encryption.config.EncryptionProperties;
+
+/**
+ * Pool of RSA key pairs generated ahead of time by background threads
+ *
+ * Refill threads start on the first request and keep the pool at its target depth,
+ * blocking while it is full. A request that finds the pool empty is counted as a
+ * starvation and the caller generates synchronously. Pairs generated for a key size or
+ * algorithm that has since been reconfigured are discarded when they are taken. Failed
+ * generations are retried with exponential backoff, so a refill thread survives a
+ * temporary misconfiguration and resumes once it is fixed.
+ */
+final class RSAKeyPairPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(RSAKeyPairPool.class);
+
+    static final long INITIAL_RETRY_DELAY_MILLIS = 100;
+    static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final EncryptionProperties encryptionProperties;
+    private final BlockingQueue<PooledKeyPair> pool;
+    private final int refillThreads;
+    private final List<Thread> threads = new ArrayList<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder starvations = new LongAdder();
+
+    RSAKeyPairPool(EncryptionProperties encryptionProperties) {
+        EncryptionProperties.RsaProperties rsa = encryptionProperties.getRsa();
+        this.encryptionProperties = encryptionProperties;
+        this.pool = rsa.getKeyPoolSize() > 0 ? new ArrayBlockingQueue<>(rsa.getKeyPoolSize()) : null;
+        this.refillThreads = rsa.getKeyPoolThreads();
+    }
+
+    /**
+     * Take a pooled key pair for the given configuration
+     *
+     * @return A pre-generated key pair, or null if the pool is disabled or empty
+     */
+    KeyPair poll(String algorithm, int keySize) {
+        if (pool == null) {
+            return null;
+        }
+        startRefill();
+
+        PooledKeyPair pooled;
+        while ((pooled = pool.poll()) != null) {
+            if (pooled.keySize == keySize && pooled.algorithm.equals(algorithm)) {
+                hits.increment();
+                return pooled.keyPair;
+            }
+        }
+        starvations.increment();
+        return null;
+    }
+
+    static KeyPair generate(String algorithm, int keySize) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        generator.initialize(keySize);
+        return generator.generateKeyPair();
+    }
+
+    int size() {
+        return pool == null ? 0 : pool.size();
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long starvationCount() {
+        return starvations.sum();
+    }
+
+    void shutdown() {
+        synchronized (threads) {
+            threads.forEach(Thread::interrupt);
+        }
+    }
+
+    private void startRefill() {
+        if (!threads.isEmpty()) {
+            return;
+        }
+        synchronized (threads) {
+            if (!threads.isEmpty()) {
+                return;
+            }
+            for (int i = 0; i < refillThreads; i++) {
+                Thread thread = new Thread(this::refill, "rsa-keypair-refill-" + i);
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                thread.start();
+                threads.add(thread);
+            }
+            logger.info("RSA key pair pool started - Target depth: {}, Refill threads: {}",
+                pool.remainingCapacity() + pool.size(), refillThreads);
+        }
+    }
+
+    private void refill() {
+        long retryDelay = INITIAL_RETRY_DELAY_MILLIS;
+        while (!Thread.currentThread().isInterrupted()) {
+            EncryptionProperties.RsaProperties rsa = encryptionProperties.getRsa();
+            try {
+                KeyPair keyPair = generate(rsa.getAlgorithm(), rsa.getKeySize());
+                pool.put(new PooledKeyPair(keyPair, rsa.getAlgorithm(), rsa.getKeySize()));
+                if (retryDelay > INITIAL_RETRY_DELAY_MILLIS) {
+                    logger.info("RSA key pair pool refill recovered");
+                    retryDelay = INITIAL_RETRY_DELAY_MILLIS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (retryDelay == INITIAL_RETRY_DELAY_MILLIS) {
+                    logger.error("RSA key pair pool refill failed, callers will generate synchronously until it recovers", e);
+                } else {
+                    logger.debug("RSA key pair pool refill failed again, retrying in {} ms", retryDelay, e);
+                }
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private static final class PooledKeyPair {
+        private final KeyPair keyPair;
+        private final String algorithm;
+        private final int keySize;
+
+        PooledKeyPair(KeyPair keyPair, String algorithm, int keySize) {
+            this.keyPair = keyPair;
+            this.algorithm = algorithm;
+            this.keySize = keySize;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.encryption.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.MGF1ParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
@@ -11,9 +15,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.example.encryption.config.EncryptionProperties;
@@ -24,21 +33,57 @@ import com.example.encryption.exception.EncryptionException;
  * 
  * Provides asymmetric encryption using RSA algorithm with configurable key size.
  * Supports key pair generation, public key encryption, and private key decryption.
+ * 
+ * Parsed keys are kept in a bounded LRU cache keyed by their Base64 encoded form, and
+ * Cipher instances are reused per thread (see {@link ThreadCache}), so repeated calls
+ * with the same key skip Base64 decoding and KeyFactory parsing. Ciphers come from the
+ * JCA provider selected by {@link CryptoProviders}; key parsing and generation use the
+ * JCA default.
+ * 
+ * Key pairs are taken from a pool that background threads keep filled, so callers do
+ * not pay the variable cost of prime generation; an empty pool falls back to
+ * generating synchronously.
  */
 @Component
-public class RSAUtils {
+public class RSAUtils implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(RSAUtils.class);
 
+    private static final String KEY_ALGORITHM = "RSA";
+    private static final String KEY_WRAP_TRANSFORMATION = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
+    /** SunJCE's defaults for the wrap transformation, stated so every provider pads identically */
+    private static final OAEPParameterSpec KEY_WRAP_PARAMETERS =
+        new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA1, PSource.PSpecified.DEFAULT);
+
     private final EncryptionProperties encryptionProperties;
+    private final CryptoProviders cryptoProviders;
+
+    private final RSAKeyCache<PublicKey> publicKeyCache;
+    private final RSAKeyCache<PrivateKey> privateKeyCache;
+    private final RSAKeyPairPool keyPairPool;
+
+    private final ThreadCache<Cipher> ciphers = new ThreadCache<>(() -> newCipher(CryptoProviders.RSA_TRANSFORMATION));
+    private final ThreadCache<Cipher> wrapCiphers = new ThreadCache<>(() -> newCipher(KEY_WRAP_TRANSFORMATION));
 
     public RSAUtils(EncryptionProperties encryptionProperties) {
+        this(encryptionProperties, CryptoProviders.defaults());
+    }
+
+    @Autowired
+    public RSAUtils(EncryptionProperties encryptionProperties, CryptoProviders cryptoProviders) {
         this.encryptionProperties = encryptionProperties;
+        this.cryptoProviders = cryptoProviders;
+        int cacheSize = encryptionProperties.getRsa().getKeyCacheSize();
+        this.publicKeyCache = new RSAKeyCache<>(cacheSize, RSAUtils::parsePublicKey);
+        this.privateKeyCache = new RSAKeyCache<>(cacheSize, RSAUtils::parsePrivateKey);
+        this.keyPairPool = new RSAKeyPairPool(encryptionProperties);
     }
 
     /**
      * Generate RSA key pair
      * 
+     * Served from the pre-generated pool when it has a pair for the configured key size.
+     * 
      * @return Map containing base64 encoded public and private keys
      * @throws EncryptionException if key generation fails
      */
@@ -47,9 +92,11 @@ public class RSAUtils {
             int keySize = encryptionProperties.getRsa().getKeySize();
             String algorithm = encryptionProperties.getRsa().getAlgorithm();
 
-            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
-            generator.initialize(keySize);
-            KeyPair keyPair = generator.generateKeyPair();
+            KeyPair keyPair = keyPairPool.poll(algorithm, keySize);
+            boolean pooled = keyPair != null;
+            if (!pooled) {
+                keyPair = RSAKeyPairPool.generate(algorithm, keySize);
+            }
 
             String publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
             String privateKey = Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded());
@@ -58,8 +105,8 @@ public class RSAUtils {
             keys.put("publicKey", publicKey);
             keys.put("privateKey", privateKey);
 
-            if (encryptionProperties.isDebugMode()) {
-                logger.debug("RSA key pair generated - Key size: {} bits", keySize);
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("RSA key pair generated - Key size: {} bits, From pool: {}", keySize, pooled);
             }
 
             return keys;
@@ -82,30 +129,35 @@ public class RSAUtils {
         if (data == null || data.isEmpty()) {
             throw new EncryptionException("Data to encrypt cannot be null or empty");
         }
+        byte[] encryptedBytes = encryptWithPublicKey(data.getBytes(StandardCharsets.UTF_8), publicKeyStr);
+        return Base64.getEncoder().encodeToString(encryptedBytes);
+    }
+
+    /**
+     * Encrypt bytes using RSA public key
+     * 
+     * @param data Plain bytes to encrypt, at most the key size minus padding
+     * @param publicKeyStr Base64 encoded public key
+     * @return Encrypted bytes
+     * @throws EncryptionException if encryption fails
+     */
+    public byte[] encryptWithPublicKey(byte[] data, String publicKeyStr) {
+        if (data == null || data.length == 0) {
+            throw new EncryptionException("Data to encrypt cannot be null or empty");
+        }
         if (publicKeyStr == null || publicKeyStr.isEmpty()) {
             throw new EncryptionException("Public key cannot be null or empty");
         }
 
         try {
-            // Decode the public key
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            java.security.KeyFactory keyFactory = java.security.KeyFactory.getInstance("RSA");
-            PublicKey publicKey = keyFactory.generatePublic(spec);
-
-            // Encrypt the data
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes());
-
-            String encryptedData = Base64.getEncoder().encodeToString(encryptedBytes);
+            byte[] encryptedBytes = doFinal(Cipher.ENCRYPT_MODE, publicKeyCache.get(publicKeyStr), data);
 
-            if (encryptionProperties.isDebugMode()) {
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
                 logger.debug("RSA Public Key Encryption - Original length: {}, Encrypted length: {}", 
-                    data.length(), encryptedData.length());
+                    data.length, encryptedBytes.length);
             }
 
-            return encryptedData;
+            return encryptedBytes;
 
         } catch (Exception e) {
             logger.error("RSA public key encryption failed", e);
@@ -125,30 +177,35 @@ public class RSAUtils {
         if (encryptedData == null || encryptedData.isEmpty()) {
             throw new EncryptionException("Encrypted data cannot be null or empty");
         }
+        byte[] encryptedBytes = decodeBase64(encryptedData, "Failed to decrypt data using RSA private key");
+        return new String(decryptWithPrivateKey(encryptedBytes, privateKeyStr), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decrypt bytes using RSA private key
+     * 
+     * @param encryptedData Encrypted bytes
+     * @param privateKeyStr Base64 encoded private key
+     * @return Decrypted plain bytes
+     * @throws EncryptionException if decryption fails
+     */
+    public byte[] decryptWithPrivateKey(byte[] encryptedData, String privateKeyStr) {
+        if (encryptedData == null || encryptedData.length == 0) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
         if (privateKeyStr == null || privateKeyStr.isEmpty()) {
             throw new EncryptionException("Private key cannot be null or empty");
         }
 
         try {
-            // Decode the private key
-            byte[] keyBytes = Base64.getDecoder().decode(privateKeyStr);
-            PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
-            java.security.KeyFactory keyFactory = java.security.KeyFactory.getInstance("RSA");
-            PrivateKey privateKey = keyFactory.generatePrivate(spec);
-
-            // Decrypt the data
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.DECRYPT_MODE, privateKey);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            byte[] decryptedBytes = doFinal(Cipher.DECRYPT_MODE, privateKeyCache.get(privateKeyStr), encryptedData);
 
-            String decryptedData = new String(decryptedBytes);
-
-            if (encryptionProperties.isDebugMode()) {
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
                 logger.debug("RSA Private Key Decryption - Encrypted length: {}, Decrypted length: {}", 
-                    encryptedData.length(), decryptedData.length());
+                    encryptedData.length, decryptedBytes.length);
             }
 
-            return decryptedData;
+            return decryptedBytes;
 
         } catch (Exception e) {
             logger.error("RSA private key decryption failed", e);
@@ -157,35 +214,46 @@ public class RSAUtils {
     }
 
     /**
-     * Encrypt data using RSA private key (for digital signatures)
+     * Encrypt data using RSA private key
+     * 
+     * This is raw RSA encryption of a single block, not a signature scheme.
      * 
+     * @deprecated use {@link SignatureUtils#sign(String, String)}, which hashes the message
+     * and applies standard signature padding
      * @param data Plain text data to encrypt
      * @param privateKeyStr Base64 encoded private key
      * @return Base64 encoded encrypted data
      * @throws EncryptionException if encryption fails
      */
+    @Deprecated
     public String encryptWithPrivateKey(String data, String privateKeyStr) {
         if (data == null || data.isEmpty()) {
             throw new EncryptionException("Data to encrypt cannot be null or empty");
         }
+        byte[] encryptedBytes = encryptWithPrivateKey(data.getBytes(StandardCharsets.UTF_8), privateKeyStr);
+        return Base64.getEncoder().encodeToString(encryptedBytes);
+    }
+
+    /**
+     * Encrypt bytes using RSA private key
+     * 
+     * @deprecated use {@link SignatureUtils#sign(byte[], String, SignatureUtils.Scheme)}
+     * @param data Plain bytes to encrypt, at most the key size minus padding
+     * @param privateKeyStr Base64 encoded private key
+     * @return Encrypted bytes
+     * @throws EncryptionException if encryption fails
+     */
+    @Deprecated
+    public byte[] encryptWithPrivateKey(byte[] data, String privateKeyStr) {
+        if (data == null || data.length == 0) {
+            throw new EncryptionException("Data to encrypt cannot be null or empty");
+        }
         if (privateKeyStr == null || privateKeyStr.isEmpty()) {
             throw new EncryptionException("Private key cannot be null or empty");
         }
 
         try {
-            // Decode the private key
-            byte[] keyBytes = Base64.getDecoder().decode(privateKeyStr);
-            PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
-            java.security.KeyFactory keyFactory = java.security.KeyFactory.getInstance("RSA");
-            PrivateKey privateKey = keyFactory.generatePrivate(spec);
-
-            // Encrypt the data
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.ENCRYPT_MODE, privateKey);
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes());
-
-            return Base64.getEncoder().encodeToString(encryptedBytes);
-
+            return doFinal(Cipher.ENCRYPT_MODE, privateKeyCache.get(privateKeyStr), data);
         } catch (Exception e) {
             logger.error("RSA private key encryption failed", e);
             throw new EncryptionException("Failed to encrypt data using RSA private key", e);
@@ -193,38 +261,192 @@ public class RSAUtils {
     }
 
     /**
-     * Decrypt data using RSA public key (for digital signature verification)
+     * Decrypt data using RSA public key
      * 
+     * @deprecated use {@link SignatureUtils#verify(String, String, String)} to check signatures
      * @param encryptedData Base64 encoded encrypted data
      * @param publicKeyStr Base64 encoded public key
      * @return Decrypted plain text data
      * @throws EncryptionException if decryption fails
      */
+    @Deprecated
     public String decryptWithPublicKey(String encryptedData, String publicKeyStr) {
         if (encryptedData == null || encryptedData.isEmpty()) {
             throw new EncryptionException("Encrypted data cannot be null or empty");
         }
+        byte[] encryptedBytes = decodeBase64(encryptedData, "Failed to decrypt data using RSA public key");
+        return new String(decryptWithPublicKey(encryptedBytes, publicKeyStr), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decrypt bytes using RSA public key
+     * 
+     * @deprecated use {@link SignatureUtils#verify(byte[], byte[], String, SignatureUtils.Scheme)}
+     * @param encryptedData Encrypted bytes
+     * @param publicKeyStr Base64 encoded public key
+     * @return Decrypted plain bytes
+     * @throws EncryptionException if decryption fails
+     */
+    @Deprecated
+    public byte[] decryptWithPublicKey(byte[] encryptedData, String publicKeyStr) {
+        if (encryptedData == null || encryptedData.length == 0) {
+            throw new EncryptionException("Encrypted data cannot be null or empty");
+        }
         if (publicKeyStr == null || publicKeyStr.isEmpty()) {
             throw new EncryptionException("Public key cannot be null or empty");
         }
 
         try {
-            // Decode the public key
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            java.security.KeyFactory keyFactory = java.security.KeyFactory.getInstance("RSA");
-            PublicKey publicKey = keyFactory.generatePublic(spec);
+            return doFinal(Cipher.DECRYPT_MODE, publicKeyCache.get(publicKeyStr), encryptedData);
+        } catch (Exception e) {
+            logger.error("RSA public key decryption failed", e);
+            throw new EncryptionException("Failed to decrypt data using RSA public key", e);
+        }
+    }
+
+    /**
+     * Wrap a symmetric key with an RSA public key using OAEP padding
+     * 
+     * @param key Symmetric key to wrap
+     * @param publicKeyStr Base64 encoded public key of the recipient
+     * @return Wrapped key bytes
+     * @throws EncryptionException if wrapping fails
+     */
+    public byte[] wrapKey(SecretKey key, String publicKeyStr) {
+        if (publicKeyStr == null || publicKeyStr.isEmpty()) {
+            throw new EncryptionException("Public key cannot be null or empty");
+        }
 
-            // Decrypt the data
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.DECRYPT_MODE, publicKey);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+        try {
+            PublicKey publicKey = publicKeyCache.get(publicKeyStr);
+            return wrapCiphers.use(cipher -> {
+                cipher.init(Cipher.WRAP_MODE, publicKey, KEY_WRAP_PARAMETERS);
+                return cipher.wrap(key);
+            });
+        } catch (Exception e) {
+            logger.error("RSA key wrapping failed", e);
+            throw new EncryptionException("Failed to wrap key using RSA public key", e);
+        }
+    }
 
-            return new String(decryptedBytes);
+    /**
+     * Unwrap a symmetric key previously wrapped with {@link #wrapKey}
+     * 
+     * @param wrappedKey Wrapped key bytes
+     * @param keyAlgorithm Algorithm of the wrapped key, e.g. AES
+     * @param privateKeyStr Base64 encoded private key of the recipient
+     * @return Unwrapped symmetric key
+     * @throws EncryptionException if unwrapping fails
+     */
+    public SecretKey unwrapKey(byte[] wrappedKey, String keyAlgorithm, String privateKeyStr) {
+        if (privateKeyStr == null || privateKeyStr.isEmpty()) {
+            throw new EncryptionException("Private key cannot be null or empty");
+        }
 
+        try {
+            PrivateKey privateKey = privateKeyCache.get(privateKeyStr);
+            return wrapCiphers.use(cipher -> {
+                cipher.init(Cipher.UNWRAP_MODE, privateKey, KEY_WRAP_PARAMETERS);
+                return (SecretKey) cipher.unwrap(wrappedKey, keyAlgorithm, Cipher.SECRET_KEY);
+            });
         } catch (Exception e) {
-            logger.error("RSA public key decryption failed", e);
-            throw new EncryptionException("Failed to decrypt data using RSA public key", e);
+            logger.error("RSA key unwrapping failed", e);
+            throw new EncryptionException("Failed to unwrap key using RSA private key", e);
+        }
+    }
+
+    /**
+     * Number of key lookups served from the parsed key caches
+     */
+    public long getKeyCacheHits() {
+        return publicKeyCache.hitCount() + privateKeyCache.hitCount();
+    }
+
+    /**
+     * Number of key lookups that had to decode and parse the key
+     */
+    public long getKeyCacheMisses() {
+        return publicKeyCache.missCount() + privateKeyCache.missCount();
+    }
+
+    /**
+     * Number of parsed keys currently held across the public and private key caches
+     */
+    public int getKeyCacheSize() {
+        return publicKeyCache.size() + privateKeyCache.size();
+    }
+
+    /**
+     * Drop all cached parsed keys
+     */
+    public void clearKeyCache() {
+        publicKeyCache.clear();
+        privateKeyCache.clear();
+    }
+
+    /**
+     * Number of pre-generated key pairs currently waiting in the pool
+     */
+    public int getKeyPairPoolSize() {
+        return keyPairPool.size();
+    }
+
+    /**
+     * Number of key pair requests served from the pool
+     */
+    public long getKeyPairPoolHits() {
+        return keyPairPool.hitCount();
+    }
+
+    /**
+     * Number of key pair requests that found the pool empty and generated synchronously
+     */
+    public long getKeyPairPoolStarvations() {
+        return keyPairPool.starvationCount();
+    }
+
+    /**
+     * Stop the key pair pool refill threads
+     */
+    @Override
+    public void destroy() {
+        keyPairPool.shutdown();
+    }
+
+    private Cipher newCipher(String transformation) {
+        try {
+            return cryptoProviders.cipher(CryptoProviders.Operation.RSA, transformation);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("RSA cipher is not available: " + transformation, e);
+        }
+    }
+
+    private static PublicKey parsePublicKey(String publicKeyStr) throws GeneralSecurityException {
+        byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
+        return KeyFactory.getInstance(KEY_ALGORITHM).generatePublic(new X509EncodedKeySpec(keyBytes));
+    }
+
+    private static PrivateKey parsePrivateKey(String privateKeyStr) throws GeneralSecurityException {
+        byte[] keyBytes = Base64.getDecoder().decode(privateKeyStr);
+        return KeyFactory.getInstance(KEY_ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(keyBytes));
+    }
+
+    /**
+     * Run a single RSA operation with this thread's cipher
+     */
+    private byte[] doFinal(int mode, Key key, byte[] input) throws Exception {
+        return ciphers.use(cipher -> {
+            cipher.init(mode, key);
+            return cipher.doFinal(input);
+        });
+    }
+
+    private static byte[] decodeBase64(String encryptedData, String failureMessage) {
+        try {
+            return Base64.getDecoder().decode(encryptedData);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid Base64 encrypted data of length: {}", encryptedData.length(), e);
+            throw new EncryptionException(failureMessage, e);
         }
     }
-}
\ No newline at end of file
+}
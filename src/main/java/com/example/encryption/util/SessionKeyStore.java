@@ -0,0 +1,366 @@
+package com.example.encryption.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Per-client AES-GCM session keys agreed through an ECDH handshake
+ *
+ * The client sends an ephemeral X25519 (or secp256r1) public key once; the server answers
+ * with its own ephemeral public key, a random salt and a session ID. Both sides derive the
+ * same AES-256 key from the shared secret with HKDF-SHA256 (RFC 5869, info
+ * {@value #HKDF_INFO}), so every later request costs one AES-GCM operation instead of an
+ * RSA operation. Server key pairs are never reused, so session keys have forward secrecy.
+ *
+ * The ephemeral key alone is unauthenticated, so the answer is signed with the server's
+ * RSA key (RSASSA-PSS, the key published for envelopes by EnvelopeUtils). The signed
+ * transcript is the UTF-8 encoding of these lines, joined by '\n':
+ * {@value #TRANSCRIPT_CONTEXT}, curve, client public key, server public key, salt and
+ * session ID, all as sent. Clients must verify it against a server public key they
+ * obtained in advance; otherwise an active man-in-the-middle can run its own handshake
+ * with each side.
+ *
+ * Session payload layout (Base64 encoded, or raw for binary transports):
+ * [12 bytes nonce][ciphertext + 16 bytes tag], with the session ID as associated data
+ *
+ * Sessions live in a concurrent map until {@code encryption.session.ttl} elapses. Expired
+ * sessions are dropped when looked up, and swept before a handshake would exceed
+ * {@code encryption.session.max-sessions}; handshakes beyond that limit are refused.
+ */
+@Component
+public class SessionKeyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionKeyStore.class);
+
+    static final String HKDF_INFO = "api-encryption session key v1";
+    static final String TRANSCRIPT_CONTEXT = "api-encryption session handshake v1";
+    static final SignatureUtils.Scheme SIGNATURE_SCHEME = SignatureUtils.Scheme.RSASSA_PSS;
+
+    private static final String HKDF_ALGORITHM = "HmacSHA256";
+    private static final String DATA_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int SESSION_KEY_BYTES = 32;
+    private static final int SALT_BYTES = 32;
+    private static final int SESSION_ID_BYTES = 16;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    /**
+     * Supported key agreement curves
+     */
+    private enum Curve {
+        X25519("X25519", "X25519", "X25519"),
+        SECP256R1("secp256r1", "EC", "ECDH");
+
+        private final String name;
+        private final String keyAlgorithm;
+        private final String agreementAlgorithm;
+
+        Curve(String name, String keyAlgorithm, String agreementAlgorithm) {
+            this.name = name;
+            this.keyAlgorithm = keyAlgorithm;
+            this.agreementAlgorithm = agreementAlgorithm;
+        }
+
+        static Curve of(String name) {
+            for (Curve curve : values()) {
+                if (curve.name.equalsIgnoreCase(name.trim())) {
+                    return curve;
+                }
+            }
+            throw new EncryptionException("Unsupported session curve: " + name);
+        }
+
+        KeyPair generateKeyPair() throws GeneralSecurityException {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+            if (this == SECP256R1) {
+                generator.initialize(new ECGenParameterSpec(name));
+            }
+            return generator.generateKeyPair();
+        }
+    }
+
+    /**
+     * Handshake answer for the client
+     *
+     * @param sessionId Value of the session header for later requests
+     * @param curve Key agreement curve
+     * @param serverPublicKey Base64 X.509 encoded ephemeral server public key
+     * @param salt Base64 HKDF salt
+     * @param expiresAt Time the session key expires
+     * @param signatureAlgorithm Scheme of the signature, RSASSA-PSS with SHA-256
+     * @param signature Base64 signature of the handshake transcript by the server RSA key
+     */
+    public record Handshake(String sessionId, String curve, String serverPublicKey, String salt, Instant expiresAt,
+            String signatureAlgorithm, String signature) {
+    }
+
+    private final Curve curve;
+    private final Duration ttl;
+    private final int maxSessions;
+    private final CryptoProviders cryptoProviders;
+    private final EnvelopeUtils envelopeUtils;
+    private final SignatureUtils signatureUtils;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final LongAdder handshakes = new LongAdder();
+
+    private final ThreadCache<Cipher> ciphers = new ThreadCache<>(this::newCipher);
+
+    public SessionKeyStore(EncryptionProperties encryptionProperties, CryptoProviders cryptoProviders,
+            EnvelopeUtils envelopeUtils, SignatureUtils signatureUtils) {
+        EncryptionProperties.SessionProperties config = encryptionProperties.getSession();
+        this.curve = Curve.of(config.getCurve());
+        this.ttl = config.getTtl();
+        this.maxSessions = config.getMaxSessions();
+        this.cryptoProviders = cryptoProviders;
+        this.envelopeUtils = envelopeUtils;
+        this.signatureUtils = signatureUtils;
+    }
+
+    /**
+     * Agree a session key with a client
+     *
+     * @param clientPublicKeyStr Base64 X.509 encoded ephemeral client public key on the configured curve
+     * @return Server public key, salt and session ID for the client to derive the same key,
+     *         signed by the server RSA key
+     * @throws EncryptionException if the key is invalid or too many sessions are live
+     */
+    public Handshake handshake(String clientPublicKeyStr) {
+        if (clientPublicKeyStr == null || clientPublicKeyStr.isBlank()) {
+            throw new EncryptionException("Client public key cannot be null or empty");
+        }
+        reserveCapacity();
+
+        byte[] sharedSecret = null;
+        try {
+            PublicKey clientPublicKey = KeyFactory.getInstance(curve.keyAlgorithm)
+                .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(clientPublicKeyStr)));
+            KeyPair serverKeyPair = curve.generateKeyPair();
+
+            KeyAgreement agreement = KeyAgreement.getInstance(curve.agreementAlgorithm);
+            agreement.init(serverKeyPair.getPrivate());
+            agreement.doPhase(clientPublicKey, true);
+            sharedSecret = agreement.generateSecret();
+
+            byte[] salt = new byte[SALT_BYTES];
+            secureRandom.nextBytes(salt);
+            byte[] idBytes = new byte[SESSION_ID_BYTES];
+            secureRandom.nextBytes(idBytes);
+            String sessionId = Base64.getUrlEncoder().withoutPadding().encodeToString(idBytes);
+
+            String serverPublicKey = Base64.getEncoder().encodeToString(serverKeyPair.getPublic().getEncoded());
+            String saltStr = Base64.getEncoder().encodeToString(salt);
+            byte[] signature = signatureUtils.sign(
+                transcript(curve.name, clientPublicKeyStr, serverPublicKey, saltStr, sessionId),
+                envelopeUtils.getServerPrivateKey(), SIGNATURE_SCHEME);
+
+            Instant expiresAt = Instant.now().plus(ttl);
+            sessions.put(sessionId, new Session(sessionId, deriveKey(sharedSecret, salt),
+                System.nanoTime() + ttl.toNanos()));
+            handshakes.increment();
+
+            return new Handshake(sessionId, curve.name, serverPublicKey, saltStr, expiresAt,
+                SIGNATURE_SCHEME.getAlgorithm(), Base64.getEncoder().encodeToString(signature));
+
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            logger.warn("Session handshake rejected: {}", e.getMessage());
+            throw new EncryptionException("Invalid client public key for " + curve.name, e);
+        } finally {
+            if (sharedSecret != null) {
+                Arrays.fill(sharedSecret, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Look up a live session
+     *
+     * @param sessionId Session ID returned by the handshake
+     * @return The session, to encrypt and decrypt with its key
+     * @throws EncryptionException if the session is unknown or expired
+     */
+    public Session session(String sessionId) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null && session.isExpired(System.nanoTime())) {
+            sessions.remove(sessionId, session);
+            session = null;
+        }
+        if (session == null) {
+            throw new EncryptionException("Unknown or expired session, repeat the handshake");
+        }
+        return session;
+    }
+
+    /**
+     * End a session before it expires
+     *
+     * @return Whether the session was live
+     */
+    public boolean invalidate(String sessionId) {
+        return sessionId != null && sessions.remove(sessionId) != null;
+    }
+
+    /**
+     * Sessions currently held, including expired ones not yet swept
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getHandshakeCount() {
+        return handshakes.sum();
+    }
+
+    /**
+     * Sweep expired sessions when the limit is reached, refusing the handshake if that frees nothing
+     */
+    private void reserveCapacity() {
+        if (sessions.size() < maxSessions) {
+            return;
+        }
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> session.isExpired(now));
+        if (sessions.size() >= maxSessions) {
+            throw new EncryptionException("Too many active sessions: " + maxSessions);
+        }
+    }
+
+    /**
+     * Handshake transcript covered by the server signature
+     */
+    static byte[] transcript(String curve, String clientPublicKey, String serverPublicKey, String salt,
+            String sessionId) {
+        return String.join("\n", TRANSCRIPT_CONTEXT, curve, clientPublicKey, serverPublicKey, salt, sessionId)
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * HKDF-SHA256 extract and expand of one block, which covers the 32-byte AES key
+     */
+    private static SecretKey deriveKey(byte[] sharedSecret, byte[] salt) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(HKDF_ALGORITHM);
+        mac.init(new SecretKeySpec(salt, HKDF_ALGORITHM));
+        byte[] pseudoRandomKey = mac.doFinal(sharedSecret);
+
+        mac.init(new SecretKeySpec(pseudoRandomKey, HKDF_ALGORITHM));
+        mac.update(HKDF_INFO.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 1);
+        byte[] okm = mac.doFinal();
+        Arrays.fill(pseudoRandomKey, (byte) 0);
+        return new SecretKeySpec(okm, 0, SESSION_KEY_BYTES, "AES");
+    }
+
+    private Cipher newCipher() {
+        try {
+            return cryptoProviders.cipher(CryptoProviders.Operation.AES, DATA_TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("AES-GCM cipher is not available", e);
+        }
+    }
+
+    /**
+     * A live session key, bound to its session ID
+     */
+    public final class Session {
+        private final String id;
+        private final byte[] associatedData;
+        private final SecretKey key;
+        private final long expiresAt;
+
+        private Session(String id, SecretKey key, long expiresAt) {
+            this.id = id;
+            this.associatedData = id.getBytes(StandardCharsets.US_ASCII);
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Encrypt with the session key
+         *
+         * @param plainBytes Plain bytes to encrypt
+         * @return Nonce followed by ciphertext and tag
+         * @throws EncryptionException if encryption fails
+         */
+        public byte[] encrypt(byte[] plainBytes) {
+            if (plainBytes == null) {
+                throw new EncryptionException("Data to encrypt cannot be null");
+            }
+            byte[] nonce = new byte[NONCE_LENGTH];
+            secureRandom.nextBytes(nonce);
+            try {
+                return ciphers.use(cipher -> {
+                    cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+                    cipher.updateAAD(associatedData);
+                    ByteBuffer output = ByteBuffer.allocate(NONCE_LENGTH + cipher.getOutputSize(plainBytes.length));
+                    output.put(nonce);
+                    cipher.doFinal(ByteBuffer.wrap(plainBytes), output);
+                    return output.array();
+                });
+            } catch (Exception e) {
+                logger.error("Session encryption failed for data length: {}", plainBytes.length, e);
+                throw new EncryptionException("Failed to encrypt data using session key", e);
+            }
+        }
+
+        /**
+         * Decrypt with the session key
+         *
+         * @param encrypted Nonce followed by ciphertext and tag
+         * @return Decrypted plain bytes
+         * @throws EncryptionException if the data is malformed or was not encrypted under this session
+         */
+        public byte[] decrypt(byte[] encrypted) {
+            if (encrypted == null || encrypted.length < NONCE_LENGTH + TAG_LENGTH_BITS / 8) {
+                throw new EncryptionException("Malformed session ciphertext");
+            }
+            try {
+                return ciphers.use(cipher -> {
+                    cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, encrypted, 0,
+                        NONCE_LENGTH));
+                    cipher.updateAAD(associatedData);
+                    return cipher.doFinal(encrypted, NONCE_LENGTH, encrypted.length - NONCE_LENGTH);
+                });
+            } catch (Exception e) {
+                logger.error("Session decryption failed for data length: {}", encrypted.length, e);
+                throw new EncryptionException("Failed to decrypt data using session key", e);
+            }
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.encryption.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.PSSParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+/**
+ * Digital signature utility class based on java.security.Signature
+ *
+ * Supported schemes:
+ * <ul>
+ *   <li>SHA256withRSA - RSASSA-PKCS1-v1_5, the most widely supported</li>
+ *   <li>RSASSA-PSS - SHA-256 with MGF1-SHA-256 and a 32 byte salt, preferred for new RSA use</li>
+ *   <li>SHA256withECDSA - NIST P-256 keys, faster signing and key generation than RSA</li>
+ *   <li>Ed25519 - faster signing than RSA, 32 byte keys and 64 byte signatures</li>
+ * </ul>
+ * RSA verification is the cheapest of all, so RSA suits signers that sign rarely and
+ * verifiers that check a lot; ECDSA and Ed25519 suit high signing rates and small keys
+ * (see SignatureBenchmark).
+ * The message is hashed, so there is no size limit, unlike raw RSA encryption with the
+ * private key. Keys are Base64 encoded X.509 (public) and PKCS#8 (private) structures,
+ * parsed once and kept in bounded LRU caches; Signature instances are reused per thread
+ * (see {@link ThreadCache}).
+ *
+ * Batch verification checks independent messages in parallel on the common ForkJoin pool,
+ * for bursts of signed messages such as webhook deliveries.
+ */
+@Component
+public class SignatureUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureUtils.class);
+
+    private static final PSSParameterSpec PSS_PARAMETERS =
+        new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, PSSParameterSpec.TRAILER_FIELD_BC);
+    private static final String EC_CURVE = "secp256r1";
+
+    /**
+     * Supported signature schemes
+     */
+    public enum Scheme {
+        SHA256_WITH_RSA("SHA256withRSA", "RSA"),
+        RSASSA_PSS("RSASSA-PSS", "RSA"),
+        SHA256_WITH_ECDSA("SHA256withECDSA", "EC"),
+        ED25519("Ed25519", "Ed25519");
+
+        private final String algorithm;
+        private final String keyAlgorithm;
+
+        Scheme(String algorithm, String keyAlgorithm) {
+            this.algorithm = algorithm;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        /**
+         * JCA signature algorithm name
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * JCA key algorithm of the keys this scheme signs with
+         */
+        public String getKeyAlgorithm() {
+            return keyAlgorithm;
+        }
+
+        /**
+         * Resolve a scheme by its JCA algorithm name, ignoring case
+         *
+         * @throws EncryptionException if the algorithm is not supported
+         */
+        public static Scheme of(String algorithm) {
+            for (Scheme scheme : values()) {
+                if (scheme.algorithm.equalsIgnoreCase(algorithm)) {
+                    return scheme;
+                }
+            }
+            throw new EncryptionException("Unsupported signature algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * A message, its signature and the Base64 encoded public key of the sender
+     */
+    public record SignedMessage(byte[] data, byte[] signature, String publicKey) {
+    }
+
+    private final EncryptionProperties encryptionProperties;
+    private final RSAUtils rsaUtils;
+    private final Scheme defaultScheme;
+
+    private final Map<String, RSAKeyCache<PublicKey>> publicKeyCaches = new HashMap<>();
+    private final Map<String, RSAKeyCache<PrivateKey>> privateKeyCaches = new HashMap<>();
+    private final Map<Scheme, ThreadCache<Signature>> signatures = new EnumMap<>(Scheme.class);
+
+    public SignatureUtils(EncryptionProperties encryptionProperties, RSAUtils rsaUtils) {
+        this.encryptionProperties = encryptionProperties;
+        this.rsaUtils = rsaUtils;
+        this.defaultScheme = Scheme.of(encryptionProperties.getSignature().getAlgorithm());
+        int cacheSize = encryptionProperties.getSignature().getKeyCacheSize();
+        for (Scheme scheme : Scheme.values()) {
+            String keyAlgorithm = scheme.keyAlgorithm;
+            publicKeyCaches.computeIfAbsent(keyAlgorithm, algorithm -> new RSAKeyCache<>(cacheSize,
+                encoded -> KeyFactory.getInstance(algorithm)
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)))));
+            privateKeyCaches.computeIfAbsent(keyAlgorithm, algorithm -> new RSAKeyCache<>(cacheSize,
+                encoded -> KeyFactory.getInstance(algorithm)
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)))));
+            signatures.put(scheme, new ThreadCache<>(() -> newSignature(scheme)));
+        }
+    }
+
+    /**
+     * Scheme used by the methods without a scheme argument ({@code encryption.signature.algorithm})
+     */
+    public Scheme getDefaultScheme() {
+        return defaultScheme;
+    }
+
+    /**
+     * Generate a key pair for a signature scheme
+     *
+     * RSA pairs come from RSAUtils, with the configured RSA key size and key pair pool.
+     *
+     * @param scheme Signature scheme the keys are for
+     * @return Map containing base64 encoded public and private keys
+     * @throws EncryptionException if key generation fails
+     */
+    public Map<String, String> generateKeyPair(Scheme scheme) {
+        if ("RSA".equals(scheme.keyAlgorithm)) {
+            return rsaUtils.generateKeyPair();
+        }
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(scheme.keyAlgorithm);
+            if (scheme == Scheme.SHA256_WITH_ECDSA) {
+                generator.initialize(new ECGenParameterSpec(EC_CURVE));
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+
+            Map<String, String> keys = new HashMap<>();
+            keys.put("publicKey", Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            keys.put("privateKey", Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            return keys;
+        } catch (GeneralSecurityException e) {
+            logger.error("Failed to generate {} key pair", scheme.algorithm, e);
+            throw new EncryptionException("Failed to generate " + scheme.algorithm + " key pair", e);
+        }
+    }
+
+    /**
+     * Sign text with the default scheme
+     *
+     * @param data Text to sign, as UTF-8
+     * @param privateKeyStr Base64 encoded private key
+     * @return Base64 encoded signature
+     * @throws EncryptionException if signing fails
+     */
+    public String sign(String data, String privateKeyStr) {
+        if (data == null) {
+            throw new EncryptionException("Data to sign cannot be null");
+        }
+        byte[] signature = sign(data.getBytes(StandardCharsets.UTF_8), privateKeyStr, defaultScheme);
+        return Base64.getEncoder().encodeToString(signature);
+    }
+
+    /**
+     * Sign bytes
+     *
+     * @param data Bytes to sign, of any length
+     * @param privateKeyStr Base64 encoded private key
+     * @param scheme Signature scheme matching the key type
+     * @return Signature bytes
+     * @throws EncryptionException if the key is invalid or signing fails
+     */
+    public byte[] sign(byte[] data, String privateKeyStr, Scheme scheme) {
+        if (data == null) {
+            throw new EncryptionException("Data to sign cannot be null");
+        }
+        if (privateKeyStr == null || privateKeyStr.isEmpty()) {
+            throw new EncryptionException("Private key cannot be null or empty");
+        }
+
+        try {
+            PrivateKey privateKey = privateKeyCaches.get(scheme.keyAlgorithm).get(privateKeyStr);
+            byte[] signature = signatures.get(scheme).use(signer -> {
+                signer.initSign(privateKey);
+                signer.update(data);
+                return signer.sign();
+            });
+            if (encryptionProperties.isDebugMode() && logger.isDebugEnabled()) {
+                logger.debug("Signed {} bytes with {}", data.length, scheme.algorithm);
+            }
+            return signature;
+        } catch (Exception e) {
+            logger.error("{} signing failed", scheme.algorithm, e);
+            throw new EncryptionException("Failed to sign data using " + scheme.algorithm, e);
+        }
+    }
+
+    /**
+     * Verify a signature over text with the default scheme
+     *
+     * @param data Signed text, as UTF-8
+     * @param signature Base64 encoded signature
+     * @param publicKeyStr Base64 encoded public key of the signer
+     * @return true if the signature is valid; false if it does not match or is malformed
+     * @throws EncryptionException if the public key is invalid
+     */
+    public boolean verify(String data, String signature, String publicKeyStr) {
+        if (data == null || signature == null) {
+            return false;
+        }
+        byte[] signatureBytes;
+        try {
+            signatureBytes = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return verify(data.getBytes(StandardCharsets.UTF_8), signatureBytes, publicKeyStr, defaultScheme);
+    }
+
+    /**
+     * Verify a signature over bytes
+     *
+     * @param data Signed bytes
+     * @param signature Signature bytes
+     * @param publicKeyStr Base64 encoded public key of the signer
+     * @param scheme Signature scheme the data was signed with
+     * @return true if the signature is valid; false if it does not match or is malformed
+     * @throws EncryptionException if the public key is invalid
+     */
+    public boolean verify(byte[] data, byte[] signature, String publicKeyStr, Scheme scheme) {
+        if (data == null || signature == null) {
+            return false;
+        }
+        if (publicKeyStr == null || publicKeyStr.isEmpty()) {
+            throw new EncryptionException("Public key cannot be null or empty");
+        }
+
+        try {
+            return doVerify(data, signature, publicKeyStr, scheme);
+        } catch (Exception e) {
+            logger.error("{} verification failed", scheme.algorithm, e);
+            throw new EncryptionException("Failed to verify signature using " + scheme.algorithm, e);
+        }
+    }
+
+    /**
+     * Verify a batch of independently signed messages in parallel
+     *
+     * A message whose public key cannot be parsed counts as invalid instead of failing
+     * the whole batch.
+     *
+     * @param messages Messages with their signatures and signer public keys
+     * @param scheme Signature scheme the messages were signed with
+     * @return Verification result per message, in input order
+     */
+    public List<Boolean> verifyAll(List<SignedMessage> messages, Scheme scheme) {
+        if (messages == null) {
+            throw new EncryptionException("Messages to verify cannot be null");
+        }
+        IntStream indexes = IntStream.range(0, messages.size());
+        return (messages.size() > 1 ? indexes.parallel() : indexes)
+            .mapToObj(i -> verifyQuietly(messages.get(i), scheme))
+            .toList();
+    }
+
+    private boolean verifyQuietly(SignedMessage message, Scheme scheme) {
+        if (message == null || message.data() == null || message.signature() == null) {
+            return false;
+        }
+        try {
+            return doVerify(message.data(), message.signature(), message.publicKey(), scheme);
+        } catch (Exception e) {
+            // Untrusted input; a bad key in one message must not flood the log or fail the batch
+            logger.debug("{} verification failed in batch: {}", scheme.algorithm, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Verify with this thread's Signature; malformed signatures return false, invalid keys throw
+     */
+    private boolean doVerify(byte[] data, byte[] signature, String publicKeyStr, Scheme scheme) throws Exception {
+        PublicKey publicKey = publicKeyCaches.get(scheme.keyAlgorithm).get(publicKeyStr);
+        return signatures.get(scheme).use(verifier -> {
+            verifier.initVerify(publicKey);
+            verifier.update(data);
+            try {
+                return verifier.verify(signature);
+            } catch (SignatureException e) {
+                // Malformed signature encoding; initVerify resets the instance before its next use
+                return false;
+            }
+        });
+    }
+
+    private static Signature newSignature(Scheme scheme) {
+        try {
+            Signature signature = Signature.getInstance(scheme.algorithm);
+            if (scheme == Scheme.RSASSA_PSS) {
+                signature.setParameter(PSS_PARAMETERS);
+            }
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Signature algorithm is not available: " + scheme.algorithm, e);
+        }
+    }
+}
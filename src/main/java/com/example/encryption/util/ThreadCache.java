@@ -0,0 +1,92 @@
+package com.example.encryption.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread cache of reusable objects that are not thread-safe, such as Cipher and Deflater
+ *
+ * Platform threads are pooled and long-lived, so each keeps its own instance in a
+ * ThreadLocal. Virtual threads (Java 21+) are created per request: a ThreadLocal would
+ * build a new instance for every request and never reuse it, and a million virtual threads
+ * would hold a million instances. Virtual threads borrow from a bounded shared queue
+ * instead and return the instance when their task completes.
+ *
+ * An instance whose task throws is discarded rather than reused, so an object left in an
+ * undefined state by a failed operation is never handed out again.
+ */
+final class ThreadCache<T> {
+
+    /**
+     * Work done with a borrowed instance
+     */
+    @FunctionalInterface
+    interface Task<T, R> {
+        R run(T value) throws Exception;
+    }
+
+    private static final int SHARED_CAPACITY = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+    private final BlockingQueue<T> shared = new ArrayBlockingQueue<>(SHARED_CAPACITY);
+
+    ThreadCache(Supplier<T> factory) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Run a task with this thread's instance, or a borrowed one on a virtual thread
+     */
+    <R> R use(Task<T, R> task) throws Exception {
+        boolean virtual = isVirtual(Thread.currentThread());
+        T value = virtual ? borrow() : local.get();
+        R result;
+        try {
+            result = task.run(value);
+        } catch (Exception e) {
+            if (!virtual) {
+                local.remove();
+            }
+            throw e;
+        }
+        if (virtual) {
+            shared.offer(value);
+        }
+        return result;
+    }
+
+    private T borrow() {
+        T value = shared.poll();
+        return value != null ? value : factory.get();
+    }
+
+    static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Thread.isVirtual exists from Java 21; earlier runtimes only have platform threads
+     */
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup()
+                .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
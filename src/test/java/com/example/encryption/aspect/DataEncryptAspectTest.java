@@ -0,0 +1,639 @@
+package com.example.encryption.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.alibaba.fastjson2.JSON;
+import com.example.encryption.annotation.Decrypt;
+import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.converter.BinaryCiphertextHttpMessageConverter;
+import com.example.encryption.converter.EncryptedNdjsonBody;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.util.AESUtils;
+import com.example.encryption.util.CompressionUtils;
+import com.example.encryption.util.CryptoProviders;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+import com.example.encryption.util.SignatureUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DataEncryptAspectTest {
+
+    private static final List<String> USERS = List.of("user1", "user2");
+
+    private AESUtils aesUtils;
+    private CryptoExecutor cryptoExecutor;
+    private EncryptedResponseCache responseCache;
+    private SessionKeyStore sessionKeyStore;
+    private RSAUtils rsaUtils;
+    private EnvelopeUtils envelopeUtils;
+    private SimpleMeterRegistry registry;
+    private AsyncEndpoints target;
+    private AsyncEndpoints endpoints;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey("AspectTestKey123");
+        aesUtils = new AESUtils(properties);
+        rsaUtils = new RSAUtils(properties);
+        envelopeUtils = new EnvelopeUtils(properties, rsaUtils);
+        cryptoExecutor = new CryptoExecutor(properties);
+        responseCache = new EncryptedResponseCache(properties);
+        sessionKeyStore = new SessionKeyStore(properties, CryptoProviders.defaults(), envelopeUtils,
+            new SignatureUtils(properties, rsaUtils));
+        EncryptionMetrics metrics = new EncryptionMetrics(rsaUtils, cryptoExecutor, responseCache, sessionKeyStore);
+        registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        DataEncryptAspect aspect = new DataEncryptAspect(aesUtils, envelopeUtils,
+            new CompressionUtils(properties), properties, new EncryptionPlanRegistry(new GenericApplicationContext(),
+                metrics), cryptoExecutor, responseCache, sessionKeyStore);
+
+        target = new AsyncEndpoints();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        endpoints = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cryptoExecutor.destroy();
+        rsaUtils.destroy();
+    }
+
+    @Test
+    void encryptAround_completableFuture_encryptsOnCryptoThreadWithoutBlocking() throws Exception {
+        CompletableFuture<ResponseEntity<UserList>> source = new CompletableFuture<>();
+        target.pending = source;
+
+        CompletableFuture<ResponseEntity<UserList>> result = endpoints.users();
+        assertThat(result).isNotDone();
+
+        UserList body = new UserList();
+        source.complete(ResponseEntity.status(HttpStatus.ACCEPTED).header("X-Trace", "1").body(body));
+        ResponseEntity<?> entity = result.get(5, TimeUnit.SECONDS);
+
+        assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(entity.getHeaders().getFirst("X-Trace")).isEqualTo("1");
+        assertThat(JSON.parseObject(aesUtils.decrypt((String) entity.getBody())).getList("users", String.class))
+            .isEqualTo(USERS);
+        assertThat(body.serializedOn.get()).startsWith("crypto-");
+    }
+
+    @Test
+    void encryptAround_sampledRequest_recordsEncryptionInRequestSummary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        RequestCryptoSummary summary = new RequestCryptoSummary();
+        request.setAttribute(RequestCryptoSummary.ATTRIBUTE, summary);
+        CompletableFuture<ResponseEntity<UserList>> source = new CompletableFuture<>();
+        target.pending = source;
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        CompletableFuture<ResponseEntity<UserList>> result;
+        try {
+            result = endpoints.users();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        source.complete(ResponseEntity.ok(new UserList()));
+        result.get(5, TimeUnit.SECONDS);
+
+        assertThat(summary.toString()).startsWith("AsyncEndpoints.users: encrypt AES 1x ").endsWith(" B");
+    }
+
+    @Test
+    void encryptAround_stream_encryptsOneLinePerRecordWhileWriting() throws Exception {
+        AtomicInteger produced = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        target.records = IntStream.rangeClosed(1, 1000)
+            .mapToObj(i -> "user" + i)
+            .peek(record -> produced.incrementAndGet())
+            .onClose(() -> closed.set(true));
+
+        ResponseEntity<Stream<String>> entity = endpoints.streamUsers();
+        assertThat(entity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(produced).hasValue(0);
+
+        AtomicInteger producedAtFirstFlush = new AtomicInteger(-1);
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                producedAtFirstFlush.compareAndSet(-1, produced.get());
+            }
+        };
+        Object body = entity.getBody();
+        ((EncryptedNdjsonBody) body).writeTo(output);
+
+        List<String> lines = output.toString(StandardCharsets.US_ASCII).lines().toList();
+        assertThat(lines).hasSize(1000);
+        assertThat(JSON.parseObject(aesUtils.decrypt(lines.get(999)), String.class)).isEqualTo("user1000");
+        assertThat(producedAtFirstFlush).hasValue(1);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void encryptAround_deferredResult_setsEncryptedResultOnReturnedInstance() throws Exception {
+        DeferredResult<List<String>> source = new DeferredResult<>();
+        target.deferred = source;
+
+        DeferredResult<List<String>> result = endpoints.deferredUsers();
+        CountDownLatch done = new CountDownLatch(1);
+        result.setResultHandler(value -> done.countDown());
+        source.setResult(USERS);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(JSON.parseArray(aesUtils.decrypt((String) result.getResult()), String.class)).isEqualTo(USERS);
+    }
+
+    @Test
+    void encryptAround_failedFuture_propagatesMethodException() {
+        CompletableFuture<ResponseEntity<UserList>> source = new CompletableFuture<>();
+        target.pending = source;
+
+        CompletableFuture<ResponseEntity<UserList>> result = endpoints.users();
+        source.completeExceptionally(new IllegalStateException("lookup failed"));
+
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(Exception.class)
+            .withRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void encryptAround_cachedGet_servesCiphertextWithoutInvokingMethodAgain() {
+        ResponseEntity<List<String>> first = get(new MockHttpServletRequest("GET", "/profile"),
+            () -> endpoints.profile("user1"));
+        ResponseEntity<List<String>> second = get(new MockHttpServletRequest("GET", "/profile"),
+            () -> endpoints.profile("user1"));
+
+        assertThat(target.profileCalls).hasValue(1);
+        assertThat(first.getHeaders().getETag()).startsWith("W/\"");
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(second.getHeaders().getFirst("X-Trace")).isEqualTo("1");
+        assertThat(JSON.parseArray(aesUtils.decrypt((String) (Object) second.getBody()), String.class))
+            .containsExactly("user1");
+        assertThat(responseCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void encryptAround_matchingIfNoneMatch_returnsNotModifiedWithoutEncrypting() {
+        String etag = get(new MockHttpServletRequest("GET", "/profile"), () -> endpoints.profile("user1"))
+            .getHeaders().getETag();
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/profile");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        ResponseEntity<List<String>> cached = get(conditional, () -> endpoints.profile("user1"));
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cached.getBody()).isNull();
+        assertThat(target.profileCalls).hasValue(1);
+
+        // After invalidation the method runs again, but unchanged data still needs no encryption
+        responseCache.invalidate("profile", "user1");
+        ResponseEntity<List<String>> revalidated = get(conditional, () -> endpoints.profile("user1"));
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(target.profileCalls).hasValue(2);
+    }
+
+    @Test
+    void encryptAround_cachedEndpointWithoutGetRequest_invokesMethodEachTime() {
+        endpoints.profile("user1");
+        get(new MockHttpServletRequest("POST", "/profile"), () -> endpoints.profile("user1"));
+
+        assertThat(target.profileCalls).hasValue(2);
+        assertThat(responseCache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void encryptAround_sessionHeader_encryptsWithSessionKeyAndBypassesCache() throws Exception {
+        SessionKeyStore.Session session = sessionKeyStore.session(handshake());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/profile");
+        request.addHeader("X-Session-Id", session.getId());
+
+        ResponseEntity<List<String>> response = get(request, () -> endpoints.profile("user1"));
+
+        byte[] encrypted = Base64.getDecoder().decode((String) (Object) response.getBody());
+        assertThat(JSON.parseArray(session.decrypt(encrypted), String.class)).containsExactly("user1");
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(responseCache.getEntryCount()).isZero();
+    }
+
+    @Test
+    void decryptAround_sessionHeader_decryptsWithSessionKey() throws Exception {
+        SessionKeyStore.Session session = sessionKeyStore.session(handshake());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/echo");
+        request.addHeader("X-Session-Id", session.getId());
+        String encrypted = Base64.getEncoder().encodeToString(session.encrypt("hello".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(get(request, () -> endpoints.echo(encrypted))).isEqualTo("hello");
+    }
+
+    @Test
+    void encryptAround_unknownSession_failsBeforeInvokingMethod() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/profile");
+        request.addHeader("X-Session-Id", "expired");
+
+        assertThatThrownBy(() -> get(request, () -> endpoints.profile("user1")))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageContaining("session");
+        assertThat(target.profileCalls).hasValue(0);
+    }
+
+    @Test
+    void decryptAround_rsaEnvelope_decryptsWithServerKey() {
+        String envelope = envelopeUtils.encrypt("hello", envelopeUtils.getServerPublicKey());
+
+        assertThat(endpoints.rsaEcho(envelope)).isEqualTo("hello");
+    }
+
+    @Test
+    void encryptAround_rsa_encryptsForClientPublicKeyHeader() {
+        Map<String, String> clientKeys = rsaUtils.generateKeyPair();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rsa/users");
+        request.addHeader("X-Client-Public-Key", clientKeys.get("publicKey"));
+
+        String encrypted = (String) get(request, () -> endpoints.rsaUsers());
+
+        assertThat(JSON.parseArray(envelopeUtils.decrypt(encrypted, clientKeys.get("privateKey")), String.class))
+            .isEqualTo(USERS);
+        assertThatThrownBy(() -> envelopeUtils.decrypt(encrypted)).isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void encryptAround_rsaWithoutClientKeyHeader_throwsEncryptionException() {
+        assertThatThrownBy(() -> get(new MockHttpServletRequest("GET", "/rsa/users"), () -> endpoints.rsaUsers()))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageContaining("Failed to encrypt");
+    }
+
+    @Test
+    void encryptAround_fieldLevel_encryptsOnlyNonExcludedFields() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) endpoints.fieldProfile();
+
+        assertThat(result).containsOnlyKeys("userId", "email", "address", "tags");
+        assertThat(result.get("userId")).isEqualTo("user1");
+        assertThat(result.get("tags")).isEqualTo(List.of("admin", "ops"));
+        assertThat((String) result.get("email")).isNotEqualTo("user1@example.com");
+        assertThat(JSON.parseObject(aesUtils.decrypt((String) result.get("email")), String.class))
+            .isEqualTo("user1@example.com");
+    }
+
+    @Test
+    void encryptAround_fieldLevel_encryptsNestedObjectAsOneValueAndOmitsNullFields() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) endpoints.fieldProfile();
+
+        assertThat(result).doesNotContainKey("nickname");
+        assertThat(result.get("address")).isInstanceOf(String.class);
+        Address address = JSON.parseObject(aesUtils.decrypt((String) result.get("address")), Address.class);
+        assertThat(address.getCity()).isEqualTo("Springfield");
+        assertThat(address.getStreet()).isEqualTo("1 Main St");
+    }
+
+    @Test
+    void encryptAround_fieldLevelCollection_encryptsEachElementAndKeepsNullElements() {
+        @SuppressWarnings("unchecked")
+        List<Object> result = (List<Object>) endpoints.fieldProfiles();
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(1)).isNull();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> first = (Map<String, Object>) result.get(0);
+        assertThat(first.get("userId")).isEqualTo("user1");
+        assertThat(JSON.parseObject(aesUtils.decrypt((String) first.get("email")), String.class))
+            .isEqualTo("user1@example.com");
+    }
+
+    @Test
+    void encryptAround_fieldLevel_decryptedFieldsRoundTripToOriginalObject() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) endpoints.fieldProfile();
+
+        Map<String, Object> decrypted = new LinkedHashMap<>(result);
+        for (String field : List.of("email", "address")) {
+            decrypted.put(field, JSON.parse(aesUtils.decrypt((String) result.get(field))));
+        }
+        Profile roundTripped = JSON.parseObject(JSON.toJSONString(decrypted), Profile.class);
+
+        assertThat(JSON.toJSONString(roundTripped)).isEqualTo(JSON.toJSONString(Profile.sample()));
+    }
+
+    @Test
+    void encryptAround_octetStreamAccept_returnsRawCiphertextBytes() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        Object body = get(request, () -> endpoints.aesUsers());
+
+        assertThat(body).isInstanceOf(byte[].class);
+        assertThat(JSON.parseArray(aesUtils.decrypt((byte[]) body), String.class)).isEqualTo(USERS);
+    }
+
+    @Test
+    void encryptAround_jsonAccept_returnsBase64Ciphertext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        Object body = get(request, () -> endpoints.aesUsers());
+
+        assertThat(body).isInstanceOf(String.class);
+        assertThat(JSON.parseArray(aesUtils.decrypt((String) body), String.class)).isEqualTo(USERS);
+    }
+
+    @Test
+    void encryptAround_jsonPreferredOverOctetStream_returnsBase64Ciphertext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader(HttpHeaders.ACCEPT, "application/json, application/octet-stream;q=0.1");
+
+        assertThat(get(request, () -> endpoints.aesUsers())).isInstanceOf(String.class);
+    }
+
+    @Test
+    void prefersBinary_ranksAcceptedTypesByQuality() {
+        assertThat(DataEncryptAspect.prefersBinary("application/vnd.encrypted-binary")).isTrue();
+        assertThat(DataEncryptAspect.prefersBinary("application/octet-stream, application/json")).isTrue();
+        assertThat(DataEncryptAspect.prefersBinary("application/json;q=0.5, application/octet-stream")).isTrue();
+        assertThat(DataEncryptAspect.prefersBinary("application/json, application/octet-stream;q=0.1")).isFalse();
+        assertThat(DataEncryptAspect.prefersBinary("application/json, application/octet-stream")).isFalse();
+        assertThat(DataEncryptAspect.prefersBinary("*/*, application/vnd.encrypted-binary;q=0.9")).isFalse();
+        assertThat(DataEncryptAspect.prefersBinary("application/octet-stream;q=0, */*")).isFalse();
+        assertThat(DataEncryptAspect.prefersBinary("not a media type")).isFalse();
+        assertThat(DataEncryptAspect.prefersBinary(null)).isFalse();
+    }
+
+    @Test
+    void decryptAround_encryptedBinaryBody_decryptsRawCiphertext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/echo");
+        request.setContentType(BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY_VALUE);
+        byte[] encrypted = aesUtils.encryptToBytes("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(get(request, () -> endpoints.echo(new String(encrypted, StandardCharsets.ISO_8859_1))))
+            .isEqualTo("hello");
+    }
+
+    @Test
+    void decryptAround_undecryptableParameter_rethrowsEncryptionExceptionUnwrapped() {
+        assertThatThrownBy(() -> endpoints.echo("not ciphertext!"))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessage("Encrypted data is not valid Base64")
+            .cause().isNotInstanceOf(EncryptionException.class);
+        assertThat(operationCount("AsyncEndpoints.echo", "failure")).isEqualTo(1);
+        assertThat(operationCount("AsyncEndpoints.echo", "success")).isZero();
+    }
+
+    @Test
+    void decryptAround_fallbackOnFailure_recordsFailureInsteadOfSuccess() {
+        String encrypted = aesUtils.encrypt("hello");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/echo");
+        RequestCryptoSummary summary = new RequestCryptoSummary();
+        request.setAttribute(RequestCryptoSummary.ATTRIBUTE, summary);
+
+        List<String> result = get(request, () -> endpoints.lenientEcho(encrypted, "not ciphertext!"));
+
+        assertThat(result).containsExactly("hello", "not ciphertext!");
+        assertThat(operationCount("AsyncEndpoints.lenientEcho", "success")).isZero();
+        assertThat(operationCount("AsyncEndpoints.lenientEcho", "failure")).isEqualTo(1);
+        assertThat(registry.get("encryption.decrypt.failures").counter().count()).isEqualTo(1);
+        assertThat(registry.get("encryption.decrypt.fallbacks").counter().count()).isEqualTo(1);
+        assertThat(summary.toString()).doesNotContain("decrypt");
+    }
+
+    @Test
+    void decryptAround_nonAsciiPlaintext_recordsUtf8ByteSize() {
+        String plaintext = "h\u00e9llo \u4e16\u754c";
+        String encrypted = aesUtils.encrypt(plaintext);
+
+        assertThat(endpoints.echo(encrypted)).isEqualTo(plaintext);
+
+        assertThat(registry.get("encryption.payload.size").tag("endpoint", "AsyncEndpoints.echo")
+            .tag("type", "plaintext").summary().totalAmount())
+            .isEqualTo(plaintext.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(registry.get("encryption.payload.size").tag("endpoint", "AsyncEndpoints.echo")
+            .tag("type", "ciphertext").summary().totalAmount()).isEqualTo(encrypted.length());
+    }
+
+    private double operationCount(String endpoint, String outcome) {
+        return registry.get("encryption.operation").tag("endpoint", endpoint).tag("outcome", outcome).timer().count();
+    }
+
+    private String handshake() throws Exception {
+        KeyPair clientKeyPair = KeyPairGenerator.getInstance("X25519").generateKeyPair();
+        return sessionKeyStore.handshake(Base64.getEncoder().encodeToString(clientKeyPair.getPublic().getEncoded()))
+            .sessionId();
+    }
+
+    private static <T> T get(MockHttpServletRequest request, Supplier<T> call) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return call.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Stand-in for an annotated controller with asynchronous, streamed and cached results
+     */
+    public static class AsyncEndpoints {
+
+        CompletableFuture<ResponseEntity<UserList>> pending;
+        DeferredResult<List<String>> deferred;
+        Stream<String> records;
+        final AtomicInteger profileCalls = new AtomicInteger();
+
+        @Encrypt
+        public CompletableFuture<ResponseEntity<UserList>> users() {
+            return pending;
+        }
+
+        @Encrypt
+        public DeferredResult<List<String>> deferredUsers() {
+            return deferred;
+        }
+
+        @Encrypt(stream = true)
+        public ResponseEntity<Stream<String>> streamUsers() {
+            return ResponseEntity.ok(records);
+        }
+
+        @Decrypt
+        public String echo(String data) {
+            return data;
+        }
+
+        @Decrypt(throwOnFailure = false, parameterIndex = -1)
+        public List<String> lenientEcho(String first, String second) {
+            return List.of(first, second);
+        }
+
+        @Decrypt(algorithm = "RSA")
+        public String rsaEcho(String data) {
+            return data;
+        }
+
+        @Encrypt
+        public Object aesUsers() {
+            return USERS;
+        }
+
+        @Encrypt(algorithm = "RSA")
+        public Object rsaUsers() {
+            return USERS;
+        }
+
+        @Encrypt(encryptEntireResponse = false, excludeFields = {"userId", "tags"})
+        public Object fieldProfile() {
+            return Profile.sample();
+        }
+
+        @Encrypt(encryptEntireResponse = false, excludeFields = {"userId", "tags"})
+        public Object fieldProfiles() {
+            return Arrays.asList(Profile.sample(), null);
+        }
+
+        @Encrypt(cacheTtl = "1m", cacheName = "profile")
+        public ResponseEntity<List<String>> profile(String userId) {
+            profileCalls.incrementAndGet();
+            return ResponseEntity.ok().header("X-Trace", "1").body(List.of(userId));
+        }
+    }
+
+    /**
+     * Response body recording the thread that serializes it for encryption
+     */
+    public static class UserList {
+
+        final AtomicReference<String> serializedOn = new AtomicReference<>();
+
+        public List<String> getUsers() {
+            serializedOn.set(Thread.currentThread().getName());
+            return USERS;
+        }
+    }
+
+    /**
+     * Field-level encryption body with a nested object, a list and an unset field
+     */
+    public static class Profile {
+
+        private String userId;
+        private String email;
+        private String nickname;
+        private Address address;
+        private List<String> tags;
+
+        static Profile sample() {
+            Profile profile = new Profile();
+            profile.setUserId("user1");
+            profile.setEmail("user1@example.com");
+            Address address = new Address();
+            address.setCity("Springfield");
+            address.setStreet("1 Main St");
+            profile.setAddress(address);
+            profile.setTags(List.of("admin", "ops"));
+            return profile;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public void setNickname(String nickname) {
+            this.nickname = nickname;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Address {
+
+        private String city;
+        private String street;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.encryption.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.example.encryption.annotation.Decrypt;
+import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.util.CompressionUtils;
+
+class EncryptionPlanRegistryTest {
+
+    // Plans only create operation meters; the gauge sources are not needed until binding
+    private final EncryptionMetrics metrics = new EncryptionMetrics(null, null, null, null);
+
+    @Test
+    void afterSingletonsInstantiated_negativeChunkSize_failsAtStartup() {
+        assertStartupFails(new NegativeChunkSize(), "Invalid chunkSize on NegativeChunkSize.users");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_chunkSizeWithRsa_failsAtStartup() {
+        assertStartupFails(new RsaChunkSize(), "Invalid chunkSize on RsaChunkSize.users");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_chunkSizeWithFieldLevel_failsAtStartup() {
+        assertStartupFails(new FieldLevelChunkSize(), "Invalid chunkSize on FieldLevelChunkSize.users");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_compressionWithFieldLevel_failsAtStartup() {
+        assertStartupFails(new FieldLevelCompression(),
+            "Invalid compression on FieldLevelCompression.users: compression requires encryptEntireResponse = true");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_unknownCompression_failsAtStartup() {
+        assertStartupFails(new UnknownCompression(), "Unsupported compression format: BROTLI");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_streamWithChunkSize_failsAtStartup() {
+        assertStartupFails(new StreamChunkSize(),
+            "Invalid stream on StreamChunkSize.users: streaming requires encryptEntireResponse = true and no chunkSize");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_streamWithoutResponseEntity_failsAtStartup() {
+        assertStartupFails(new StreamPlainReturn(), "Invalid stream on StreamPlainReturn.users: streaming methods"
+            + " must return ResponseEntity, CompletableFuture or DeferredResult");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_cacheTtlWithRsa_failsAtStartup() {
+        assertStartupFails(new RsaCacheTtl(), "Invalid cacheTtl on RsaCacheTtl.users: response caching requires AES");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_cacheTtlWithoutResponseEntity_failsAtStartup() {
+        assertStartupFails(new CacheTtlPlainReturn(), "Invalid cacheTtl on CacheTtlPlainReturn.users");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_unparsableCacheTtl_failsAtStartup() {
+        assertStartupFails(new UnparsableCacheTtl(), "Invalid cacheTtl on UnparsableCacheTtl.users: soon");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_zeroCacheTtl_failsAtStartup() {
+        assertStartupFails(new ZeroCacheTtl(), "Invalid cacheTtl on ZeroCacheTtl.users: must be positive");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_unknownAlgorithm_failsAtStartup() {
+        assertStartupFails(new UnknownAlgorithm(), "Unsupported encryption algorithm: DES");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_validHandlers_registersPlans() {
+        EncryptionPlanRegistry registry = startup(new ValidEndpoints());
+
+        assertThat(registry.encryptPlan(method("aesUsers"))).isNotNull();
+        assertThat(registry.decryptPlan(method("rsaRegister", String.class, int.class))).isNotNull();
+        assertThat(registry.encryptPlan(method("rsaRegister", String.class, int.class))).isNull();
+    }
+
+    @Test
+    void encryptPlan_aes_resolvesAnnotationAttributes() {
+        EncryptPlan plan = startup(new ValidEndpoints()).encryptPlan(method("aesUsers"));
+
+        assertThat(plan.getMethodName()).isEqualTo("ValidEndpoints.aesUsers");
+        assertThat(plan.getAlgorithm()).isEqualTo(CryptoAlgorithm.AES);
+        assertThat(plan.getChunkSize()).isEqualTo(100);
+        assertThat(plan.getCompression()).isEqualTo(CompressionUtils.Format.GZIP);
+        assertThat(plan.isReturnsCompletionStage()).isTrue();
+        assertThat(plan.getCacheTtl()).isNull();
+        assertThat(plan.getFieldEncryptor()).isNull();
+    }
+
+    @Test
+    void encryptPlan_rsaFieldLevel_resolvesAnnotationAttributes() {
+        EncryptPlan plan = startup(new ValidEndpoints()).encryptPlan(method("rsaProfile"));
+
+        assertThat(plan.getAlgorithm()).isEqualTo(CryptoAlgorithm.RSA);
+        assertThat(plan.isEncryptEntireResponse()).isFalse();
+        assertThat(plan.getExcludeFields()).containsExactly("userId");
+        assertThat(plan.getFieldEncryptor()).isNotNull();
+    }
+
+    @Test
+    void encryptPlan_cachedStreamlessAes_resolvesCacheSettings() {
+        EncryptPlan plan = startup(new ValidEndpoints()).encryptPlan(method("cachedProfile"));
+
+        assertThat(plan.getCacheTtl()).hasSeconds(30);
+        assertThat(plan.getCacheName()).isEqualTo("ValidEndpoints.cachedProfile");
+    }
+
+    @Test
+    void decryptPlan_aesAndRsa_selectOnlyStringParameters() {
+        EncryptionPlanRegistry registry = startup(new ValidEndpoints());
+
+        DecryptPlan aes = registry.decryptPlan(method("aesRegister", String.class, String.class));
+        assertThat(aes.getAlgorithm()).isEqualTo(CryptoAlgorithm.AES);
+        assertThat(aes.getParameterIndexes()).containsExactly(0, 1);
+
+        DecryptPlan rsa = registry.decryptPlan(method("rsaRegister", String.class, int.class));
+        assertThat(rsa.getAlgorithm()).isEqualTo(CryptoAlgorithm.RSA);
+        assertThat(rsa.getParameterIndexes()).containsExactly(0);
+        assertThat(rsa.isThrowOnFailure()).isFalse();
+    }
+
+    private void assertStartupFails(Object controller, String message) {
+        assertThatThrownBy(() -> startup(controller))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageStartingWith(message);
+    }
+
+    /**
+     * Run the startup scan over a context holding only the given controller
+     */
+    @SuppressWarnings("unchecked")
+    private <T> EncryptionPlanRegistry startup(T controller) {
+        try (GenericWebApplicationContext context = new GenericWebApplicationContext()) {
+            context.registerBean(RequestMappingHandlerMapping.class);
+            context.registerBean((Class<T>) controller.getClass(), () -> controller);
+            context.refresh();
+
+            EncryptionPlanRegistry registry = new EncryptionPlanRegistry(context, metrics);
+            registry.afterSingletonsInstantiated();
+            return registry;
+        }
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) {
+        try {
+            return ValidEndpoints.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RestController
+    public static class ValidEndpoints {
+
+        @Encrypt(chunkSize = 100, compression = "GZIP")
+        @GetMapping("/aes/users")
+        public CompletableFuture<List<String>> aesUsers() {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Encrypt(algorithm = "RSA", encryptEntireResponse = false, excludeFields = "userId")
+        @GetMapping("/rsa/profile")
+        public Object rsaProfile() {
+            return null;
+        }
+
+        @Encrypt(cacheTtl = "30s")
+        @GetMapping("/aes/profile")
+        public ResponseEntity<String> cachedProfile() {
+            return null;
+        }
+
+        @Decrypt(parameterIndex = -1)
+        @PostMapping("/aes/register")
+        public String aesRegister(String data, String signature) {
+            return data;
+        }
+
+        @Decrypt(algorithm = "rsa", parameterIndex = -1, throwOnFailure = false)
+        @PostMapping("/rsa/register")
+        public String rsaRegister(String data, int version) {
+            return data;
+        }
+    }
+
+    @RestController
+    public static class NegativeChunkSize {
+        @Encrypt(chunkSize = -1)
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class RsaChunkSize {
+        @Encrypt(algorithm = "RSA", chunkSize = 10)
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class FieldLevelChunkSize {
+        @Encrypt(encryptEntireResponse = false, chunkSize = 10)
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class FieldLevelCompression {
+        @Encrypt(encryptEntireResponse = false, compression = "GZIP")
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class UnknownCompression {
+        @Encrypt(compression = "BROTLI")
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class StreamChunkSize {
+        @Encrypt(stream = true, chunkSize = 10)
+        @GetMapping("/users")
+        public ResponseEntity<Stream<String>> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class StreamPlainReturn {
+        @Encrypt(stream = true)
+        @GetMapping("/users")
+        public Stream<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class RsaCacheTtl {
+        @Encrypt(algorithm = "RSA", cacheTtl = "1m")
+        @GetMapping("/users")
+        public ResponseEntity<List<String>> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class CacheTtlPlainReturn {
+        @Encrypt(cacheTtl = "1m")
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class UnparsableCacheTtl {
+        @Encrypt(cacheTtl = "soon")
+        @GetMapping("/users")
+        public ResponseEntity<List<String>> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class ZeroCacheTtl {
+        @Encrypt(cacheTtl = "0s")
+        @GetMapping("/users")
+        public ResponseEntity<List<String>> users() {
+            return null;
+        }
+    }
+
+    @RestController
+    public static class UnknownAlgorithm {
+        @Encrypt(algorithm = "DES")
+        @GetMapping("/users")
+        public List<String> users() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.encryption.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+class CryptoExecutorTest {
+
+    private CryptoExecutor cryptoExecutor;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAsync().setThreads(1);
+        properties.getAsync().setQueueCapacity(1);
+        cryptoExecutor = new CryptoExecutor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cryptoExecutor.destroy();
+    }
+
+    @Test
+    void supply_queueFull_failsFutureInsteadOfRunningOnCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = cryptoExecutor.supply(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = cryptoExecutor.supply(() -> "queued");
+
+        CompletableFuture<String> rejected = cryptoExecutor.supply(() -> Thread.currentThread().getName());
+
+        assertThat(rejected).failsWithin(0, TimeUnit.SECONDS)
+            .withThrowableOfType(Exception.class)
+            .withCauseInstanceOf(EncryptionException.class);
+        assertThat(cryptoExecutor.getRejectedCount()).isEqualTo(1);
+        assertThat(cryptoExecutor.getQueueSize()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
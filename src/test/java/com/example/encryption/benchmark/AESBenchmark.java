@@ -0,0 +1,87 @@
+package com.example.encryption.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.encryption.util.AESUtils;
+
+/**
+ * JMH benchmarks for AESUtils across payload sizes and cipher modes
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AESBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class EncryptState {
+
+        @Param({"64", "1024", "16384", "1048576"})
+        public int payloadSize;
+
+        @Param({"AES/ECB/PKCS5Padding", "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"})
+        public String algorithm;
+
+        AESUtils aesUtils;
+        String plainText;
+        ByteBuffer plainBuffer;
+        ByteBuffer cipherBuffer;
+
+        @Setup
+        public void setUp() {
+            aesUtils = BenchmarkFixtures.aesUtils(algorithm);
+            plainText = BenchmarkFixtures.payload(payloadSize);
+            byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+            plainBuffer = ByteBuffer.allocateDirect(plainBytes.length).put(plainBytes).flip();
+            cipherBuffer = ByteBuffer.allocateDirect(aesUtils.maxEncryptedLength(plainBytes.length));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DecryptState {
+
+        @Param({"64", "1024", "16384", "1048576"})
+        public int payloadSize;
+
+        @Param({"AES/ECB/PKCS5Padding", "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"})
+        public String algorithm;
+
+        AESUtils aesUtils;
+        String cipherText;
+
+        @Setup
+        public void setUp() {
+            aesUtils = BenchmarkFixtures.aesUtils(algorithm);
+            cipherText = aesUtils.encrypt(BenchmarkFixtures.payload(payloadSize));
+        }
+    }
+
+    @Benchmark
+    public String encrypt(EncryptState state) {
+        return state.aesUtils.encrypt(state.plainText);
+    }
+
+    /**
+     * Steady-state encryption between reused direct buffers, without Base64 or allocation
+     */
+    @Benchmark
+    public int encryptDirectBuffer(EncryptState state) {
+        state.plainBuffer.rewind();
+        state.cipherBuffer.clear();
+        return state.aesUtils.encrypt(state.plainBuffer, state.cipherBuffer);
+    }
+
+    @Benchmark
+    public String decrypt(DecryptState state) {
+        return state.aesUtils.decrypt(state.cipherText);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.encryption.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.encryption.EncryptionDemoApplication;
+import com.example.encryption.util.AESUtils;
+
+/**
+ * HTTP load test of the /api/aop endpoints with platform and with virtual request threads
+ *
+ * Only executed with the performance profile:
+ * {@code mvn test -Pperformance -Dtest=AopLoadPerformanceTest}. The application is started
+ * once per threading mode on a random port and driven by {@code -Dload.clients} concurrent
+ * clients (default 400, twice Tomcat's default thread count) for {@code -Dload.seconds}
+ * (default 10) over a mix of small, list, decrypt-and-encrypt and large chunked responses.
+ * Throughput and latency percentiles are appended to target/aop-load-result.txt.
+ *
+ * Virtual threads need Java 21 ({@code -Pjava21}); on older runtimes that mode is skipped.
+ */
+class AopLoadPerformanceTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 10);
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void aopEndpoints_underConcurrentLoad(boolean virtualThreads) throws Exception {
+        assumeTrue(!virtualThreads || Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EncryptionDemoApplication.class).run(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--encryption.aes.key=LoadTestKey12345",
+                    "--encryption.debug-mode=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.example.encryption=WARN",
+                    "--spring.main.banner-mode=off")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String profileUpdate = context.getBean(AESUtils.class).encrypt(
+                "{\"userId\":\"user1\",\"username\":\"User 1\",\"email\":\"user1@example.com\"}");
+            List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/aop/profile?userId=user1")).build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/aop/users")).build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/aop/update-profile"))
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString(profileUpdate))
+                    .build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/aop/users/export?count=2000")).build());
+
+            LoadResult result = run(requests);
+            String mode = virtualThreads ? "virtual" : "platform";
+            String line = String.format("%-8s clients=%d requests=%d errors=%d throughput=%.0f/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                mode, CLIENTS, result.latencies.length, result.errors, result.latencies.length / (double) SECONDS,
+                result.percentile(50), result.percentile(99), result.percentile(100));
+            System.out.print(line);
+            Files.writeString(Path.of("target", "aop-load-result.txt"), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+            assertThat(result.errors).isZero();
+        }
+    }
+
+    private static LoadResult run(List<HttpRequest> requests) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(8);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(httpExecutor)
+            .build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+
+        List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            int offset = c;
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(requests.get(i % requests.size()),
+                            HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            int start = all.length;
+            all = Arrays.copyOf(all, start + latencies.length);
+            System.arraycopy(latencies, 0, all, start, latencies.length);
+        }
+        clients.shutdown();
+        httpExecutor.shutdown();
+        Arrays.sort(all);
+        return new LoadResult(all, errors.get());
+    }
+
+    private static final class LoadResult {
+        private final long[] latencies;
+        private final long errors;
+
+        LoadResult(long[] latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        double percentile(int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.encryption.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.alibaba.fastjson2.JSON;
+import com.example.encryption.annotation.Decrypt;
+import com.example.encryption.annotation.Encrypt;
+import com.example.encryption.aspect.DataEncryptAspect;
+import com.example.encryption.aspect.EncryptionPlanRegistry;
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.dto.UserProfile;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.util.AESUtils;
+import com.example.encryption.util.CompressionUtils;
+import com.example.encryption.util.CryptoProviders;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+import com.example.encryption.util.SignatureUtils;
+
+/**
+ * JMH benchmark for the full DataEncryptAspect round trip on UserProfile lists:
+ * serialize and encrypt through @Encrypt, then decrypt and parse through @Decrypt
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AspectBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int userCount;
+
+    private UserEndpoints endpoints;
+
+    @Setup
+    public void setUp() {
+        EncryptionProperties properties = BenchmarkFixtures.properties("AES/ECB/PKCS5Padding");
+        AESUtils aesUtils = new AESUtils(properties);
+        RSAUtils rsaUtils = new RSAUtils(properties);
+        EnvelopeUtils envelopeUtils = new EnvelopeUtils(properties, rsaUtils);
+        CryptoExecutor cryptoExecutor = new CryptoExecutor(properties);
+        EncryptedResponseCache responseCache = new EncryptedResponseCache(properties);
+        SessionKeyStore sessionKeyStore = new SessionKeyStore(properties, CryptoProviders.defaults(),
+            envelopeUtils, new SignatureUtils(properties, rsaUtils));
+        DataEncryptAspect aspect = new DataEncryptAspect(aesUtils, envelopeUtils, new CompressionUtils(properties),
+            properties, new EncryptionPlanRegistry(new GenericApplicationContext(),
+                new EncryptionMetrics(rsaUtils, cryptoExecutor, responseCache, sessionKeyStore)), cryptoExecutor,
+            responseCache, sessionKeyStore);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new UserEndpoints(BenchmarkFixtures.users(userCount)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        endpoints = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public Object encrypt() {
+        return endpoints.listUsers();
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        return endpoints.countUsers((String) endpoints.listUsers());
+    }
+
+    /**
+     * Stand-in for an annotated controller
+     */
+    public static class UserEndpoints {
+
+        private final List<UserProfile> users;
+
+        public UserEndpoints() {
+            this(List.of());
+        }
+
+        UserEndpoints(List<UserProfile> users) {
+            this.users = users;
+        }
+
+        @Encrypt
+        public Object listUsers() {
+            return users;
+        }
+
+        @Decrypt
+        public int countUsers(String json) {
+            return JSON.parseArray(json, UserProfile.class).size();
+        }
+    }
+}
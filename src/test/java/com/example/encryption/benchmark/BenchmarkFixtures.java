@@ -0,0 +1,54 @@
+package com.example.encryption.benchmark;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.dto.UserProfile;
+import com.example.encryption.util.AESUtils;
+
+/**
+ * Shared setup helpers for the JMH benchmarks
+ */
+final class BenchmarkFixtures {
+
+    static final String AES_KEY = "BenchmarkKey1234";
+
+    private BenchmarkFixtures() {
+    }
+
+    static EncryptionProperties properties(String aesAlgorithm) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey(AES_KEY);
+        properties.getAes().setAlgorithm(aesAlgorithm);
+        return properties;
+    }
+
+    static AESUtils aesUtils(String aesAlgorithm) {
+        return new AESUtils(properties(aesAlgorithm));
+    }
+
+    /**
+     * JSON-like ASCII payload of exactly the given size in bytes
+     */
+    static String payload(int size) {
+        String unit = "{\"userId\":\"user1\",\"email\":\"user1@example.com\",\"status\":\"ACTIVE\"},";
+        StringBuilder builder = new StringBuilder(size + unit.length());
+        while (builder.length() < size) {
+            builder.append(unit);
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    static List<UserProfile> users(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> {
+                UserProfile profile = new UserProfile("user" + i, "User user" + i, "user" + i + "@example.com", "138****1234");
+                profile.setRoles(List.of("USER", "CUSTOMER"));
+                profile.setPreferences(new UserProfile.UserPreferences("en", "UTC", true, false));
+                return profile;
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.encryption.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks in this package with the gc profiler
+ * 
+ * Only executed with the performance profile: {@code mvn test -Pperformance}.
+ * Results are written to target/jmh-result.json for comparison between builds.
+ * Narrow the run with {@code -Djmh.include=<regex>} and tune it with
+ * {@code -Djmh.forks}, {@code -Djmh.warmupIterations} and {@code -Djmh.iterations}.
+ */
+class EncryptionPerformanceTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(System.getProperty("jmh.include", getClass().getPackageName() + ".*Benchmark"))
+            .forks(Integer.getInteger("jmh.forks", 1))
+            .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+            .measurementTime(TimeValue.seconds(1))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-result.json")
+            .build();
+
+        new Runner(options).run();
+    }
+}
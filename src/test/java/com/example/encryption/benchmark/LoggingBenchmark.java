@@ -0,0 +1,162 @@
+package com.example.encryption.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.encryption.aspect.CryptoSummaryInterceptor;
+import com.example.encryption.aspect.DataEncryptAspect;
+import com.example.encryption.aspect.EncryptionPlanRegistry;
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.metrics.EncryptionMetrics;
+import com.example.encryption.util.AESUtils;
+import com.example.encryption.util.CompressionUtils;
+import com.example.encryption.util.CryptoProviders;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+import com.example.encryption.util.SignatureUtils;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * JMH benchmark of logging cost on one AOP request, including the file I/O:
+ * interceptor, @Decrypt and @Encrypt advice and the summary line at completion
+ *
+ * Log modes:
+ * <ul>
+ *   <li>verbose - DEBUG with debug-mode, a line per crypto call, synchronous file appender</li>
+ *   <li>summary - INFO, one summary line per request, synchronous file appender</li>
+ *   <li>summary-async - as summary, behind an AsyncAppender as in logback-spring.xml; under
+ *       sustained overload INFO events are dropped rather than blocking the caller</li>
+ *   <li>off - WARN, nothing is logged for successful requests</li>
+ * </ul>
+ * Log files are written to target/ and deleted after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingBenchmark {
+
+    private static final String FILE_LOG_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"verbose", "summary", "summary-async", "off"})
+    public String logMode;
+
+    private AspectBenchmark.UserEndpoints endpoints;
+    private CryptoSummaryInterceptor interceptor;
+    private CryptoExecutor cryptoExecutor;
+    private Path logFile;
+
+    @Setup
+    public void setUp() {
+        logFile = Path.of("target", "jmh-logging-" + logMode + ".log");
+        configureLogging();
+
+        EncryptionProperties properties = BenchmarkFixtures.properties("AES/ECB/PKCS5Padding");
+        properties.setDebugMode("verbose".equals(logMode));
+        AESUtils aesUtils = new AESUtils(properties);
+        RSAUtils rsaUtils = new RSAUtils(properties);
+        cryptoExecutor = new CryptoExecutor(properties);
+        EncryptedResponseCache responseCache = new EncryptedResponseCache(properties);
+        EnvelopeUtils envelopeUtils = new EnvelopeUtils(properties, rsaUtils);
+        SessionKeyStore sessionKeyStore = new SessionKeyStore(properties, CryptoProviders.defaults(),
+            envelopeUtils, new SignatureUtils(properties, rsaUtils));
+        DataEncryptAspect aspect = new DataEncryptAspect(aesUtils, envelopeUtils,
+            new CompressionUtils(properties), properties, new EncryptionPlanRegistry(new GenericApplicationContext(),
+                new EncryptionMetrics(rsaUtils, cryptoExecutor, responseCache, sessionKeyStore)), cryptoExecutor,
+            responseCache, sessionKeyStore);
+        interceptor = new CryptoSummaryInterceptor(properties);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+            new AspectBenchmark.UserEndpoints(BenchmarkFixtures.users(10)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        endpoints = proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        // Stopping the context flushes and closes the appenders
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        cryptoExecutor.destroy();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public int request() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/aop/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            interceptor.preHandle(request, response, endpoints);
+            int count = endpoints.countUsers((String) endpoints.listUsers());
+            interceptor.afterCompletion(request, response, endpoints, null);
+            return count;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private void configureLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(FILE_LOG_PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.toString());
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if ("summary-async".equals(logMode)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel("off".equals(logMode) ? Level.WARN : Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.example.encryption").setLevel("verbose".equals(logMode) ? Level.DEBUG : null);
+    }
+}
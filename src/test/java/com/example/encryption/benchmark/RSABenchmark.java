@@ -0,0 +1,84 @@
+package com.example.encryption.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+
+/**
+ * JMH benchmarks for RSAUtils and RSA envelopes across key sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RSABenchmark {
+
+    @Param({"1024", "2048", "4096"})
+    public int keySize;
+
+    private RSAUtils rsaUtils;
+    private EnvelopeUtils envelopeUtils;
+    private String publicKey;
+    private String privateKey;
+    private String plainText;
+    private String cipherText;
+    private String envelopePayload;
+    private String envelope;
+
+    @Setup
+    public void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getRsa().setKeySize(keySize);
+        rsaUtils = new RSAUtils(properties);
+
+        Map<String, String> keys = rsaUtils.generateKeyPair();
+        publicKey = keys.get("publicKey");
+        privateKey = keys.get("privateKey");
+        properties.getRsa().setPublicKey(publicKey);
+        properties.getRsa().setPrivateKey(privateKey);
+        envelopeUtils = new EnvelopeUtils(properties, rsaUtils);
+
+        // Short payload that fits a single RSA block at every key size
+        plainText = BenchmarkFixtures.payload(64);
+        cipherText = rsaUtils.encryptWithPublicKey(plainText, publicKey);
+        envelopePayload = BenchmarkFixtures.payload(4096);
+        envelope = envelopeUtils.encrypt(envelopePayload, publicKey);
+    }
+
+    @Benchmark
+    public String encryptWithPublicKey() {
+        return rsaUtils.encryptWithPublicKey(plainText, publicKey);
+    }
+
+    @Benchmark
+    public String decryptWithPrivateKey() {
+        return rsaUtils.decryptWithPrivateKey(cipherText, privateKey);
+    }
+
+    @Benchmark
+    public String envelopeEncrypt() {
+        return envelopeUtils.encrypt(envelopePayload, publicKey);
+    }
+
+    @Benchmark
+    public String envelopeDecrypt() {
+        return envelopeUtils.decrypt(envelope);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, String> generateKeyPair() {
+        return rsaUtils.generateKeyPair();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.encryption.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.CryptoProviders;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+import com.example.encryption.util.SignatureUtils;
+
+/**
+ * JMH benchmarks for the ECDH session handshake (including its RSA signature) and per-request
+ * session encryption, to compare with the RSA operations in RSABenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionKeyBenchmark {
+
+    @Param({"X25519", "secp256r1"})
+    public String curve;
+
+    private SessionKeyStore sessionKeyStore;
+    private String clientPublicKey;
+    private SessionKeyStore.Session session;
+    private byte[] payload;
+    private byte[] encrypted;
+
+    @Setup
+    public void setUp() throws Exception {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getSession().setCurve(curve);
+        properties.getSession().setMaxSessions(Integer.MAX_VALUE);
+        RSAUtils rsaUtils = new RSAUtils(properties);
+        sessionKeyStore = new SessionKeyStore(properties, CryptoProviders.defaults(),
+            new EnvelopeUtils(properties, rsaUtils), new SignatureUtils(properties, rsaUtils));
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("X25519".equals(curve) ? "X25519" : "EC");
+        if (!"X25519".equals(curve)) {
+            generator.initialize(new ECGenParameterSpec(curve));
+        }
+        clientPublicKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+        session = sessionKeyStore.session(sessionKeyStore.handshake(clientPublicKey).sessionId());
+
+        payload = BenchmarkFixtures.payload(4096).getBytes(StandardCharsets.UTF_8);
+        encrypted = session.encrypt(payload);
+    }
+
+    @Benchmark
+    public boolean handshake() {
+        // Invalidated right away so the session map stays small across iterations
+        return sessionKeyStore.invalidate(sessionKeyStore.handshake(clientPublicKey).sessionId());
+    }
+
+    @Benchmark
+    public byte[] sessionEncrypt() {
+        return session.encrypt(payload);
+    }
+
+    @Benchmark
+    public byte[] sessionDecrypt() {
+        return session.decrypt(encrypted);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.encryption.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SignatureUtils;
+import com.example.encryption.util.SignatureUtils.Scheme;
+import com.example.encryption.util.SignatureUtils.SignedMessage;
+
+/**
+ * JMH benchmarks for SignatureUtils across schemes, RSA with 2048 bit keys
+ *
+ * verifyBatch checks 1000 webhook-sized messages from 10 senders, in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignatureBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int SENDERS = 10;
+
+    @Param({"SHA256withRSA", "RSASSA-PSS", "SHA256withECDSA", "Ed25519"})
+    public String algorithm;
+
+    private RSAUtils rsaUtils;
+    private SignatureUtils signatureUtils;
+    private Scheme scheme;
+    private String publicKey;
+    private String privateKey;
+    private byte[] message;
+    private byte[] signature;
+    private List<SignedMessage> batch;
+
+    @Setup
+    public void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getRsa().setKeySize(2048);
+        rsaUtils = new RSAUtils(properties);
+        signatureUtils = new SignatureUtils(properties, rsaUtils);
+        scheme = Scheme.of(algorithm);
+
+        Map<String, String> keys = signatureUtils.generateKeyPair(scheme);
+        publicKey = keys.get("publicKey");
+        privateKey = keys.get("privateKey");
+        message = BenchmarkFixtures.payload(1024).getBytes(StandardCharsets.UTF_8);
+        signature = signatureUtils.sign(message, privateKey, scheme);
+
+        List<Map<String, String>> senders = new ArrayList<>();
+        for (int i = 0; i < SENDERS; i++) {
+            senders.add(signatureUtils.generateKeyPair(scheme));
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, String> sender = senders.get(i % SENDERS);
+            byte[] data = BenchmarkFixtures.payload(1024).getBytes(StandardCharsets.UTF_8);
+            batch.add(new SignedMessage(data, signatureUtils.sign(data, sender.get("privateKey"), scheme),
+                sender.get("publicKey")));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        rsaUtils.destroy();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return signatureUtils.sign(message, privateKey, scheme);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return signatureUtils.verify(message, signature, publicKey, scheme);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Boolean> verifyBatch() {
+        return signatureUtils.verifyAll(batch, scheme);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.encryption.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import com.example.encryption.cache.EncryptedResponseCache.CachedResponse;
+import com.example.encryption.cache.EncryptedResponseCache.Key;
+import com.example.encryption.config.EncryptionProperties;
+
+class EncryptedResponseCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final EncryptedResponseCache cache = cache(DataSize.ofBytes(3 * (EncryptedResponseCache.ENTRY_OVERHEAD + 100)));
+
+    @Test
+    void put_beyondMaxSize_evictsLeastRecentlyUsed() {
+        Key first = cache.key("users", new Object[] {"user1"}, 1);
+        Key second = cache.key("users", new Object[] {"user2"}, 1);
+        Key third = cache.key("users", new Object[] {"user3"}, 1);
+        cache.put(first, response(100), TTL);
+        cache.put(second, response(100), TTL);
+        cache.get(first);
+
+        cache.put(third, response(100), TTL);
+        cache.put(cache.key("users", new Object[] {"user4"}, 1), response(100), TTL);
+
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.getEntryCount()).isEqualTo(3);
+        assertThat(cache.getSizeBytes()).isEqualTo(3 * (EncryptedResponseCache.ENTRY_OVERHEAD + 100));
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_expiredOrOtherKeyVersion_misses() {
+        Key key = cache.key("users", new Object[0], 1);
+        cache.put(key, response(10), Duration.ofNanos(1));
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.getSizeBytes()).isZero();
+
+        cache.put(key, response(10), TTL);
+        assertThat(cache.get(cache.key("users", new Object[0], 2))).isNull();
+        assertThat(cache.getHitRatio()).isZero();
+    }
+
+    @Test
+    void invalidate_withArguments_removesOnlyMatchingEntries() {
+        Key user1 = cache.key("profile", new Object[] {"user1"}, 1);
+        Key user1Rotated = cache.key("profile", new Object[] {"user1"}, 2);
+        Key user2 = cache.key("profile", new Object[] {"user2"}, 1);
+        cache.put(user1, response(10), TTL);
+        cache.put(user1Rotated, response(10), TTL);
+        cache.put(user2, response(10), TTL);
+
+        cache.invalidate("profile", "user1");
+
+        assertThat(cache.get(user1)).isNull();
+        assertThat(cache.get(user1Rotated)).isNull();
+        assertThat(cache.get(user2)).isNotNull();
+    }
+
+    @Test
+    void etag_dependsOnPlaintextAndKeyVersion() {
+        Key key = cache.key("users", new Object[0], 1);
+        byte[] json = "[\"user1\"]".getBytes(StandardCharsets.UTF_8);
+        String etag = cache.etag(key, json);
+
+        assertThat(etag).startsWith("W/\"").endsWith("\"");
+        assertThat(cache.etag(key, json.clone())).isEqualTo(etag);
+        assertThat(cache.etag(cache.key("users", new Object[0], 2), json)).isNotEqualTo(etag);
+        assertThat(cache.etag(key, "[\"user2\"]".getBytes(StandardCharsets.UTF_8))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void matches_usesWeakComparisonOverTagList() {
+        assertThat(EncryptedResponseCache.matches("\"a\", W/\"b\"", "W/\"b\"")).isTrue();
+        assertThat(EncryptedResponseCache.matches("\"b\"", "W/\"b\"")).isTrue();
+        assertThat(EncryptedResponseCache.matches("*", "W/\"b\"")).isTrue();
+        assertThat(EncryptedResponseCache.matches("W/\"c\"", "W/\"b\"")).isFalse();
+        assertThat(EncryptedResponseCache.matches(null, "W/\"b\"")).isFalse();
+    }
+
+    private static EncryptedResponseCache cache(DataSize maxSize) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getCache().setMaxSize(maxSize);
+        return new EncryptedResponseCache(properties);
+    }
+
+    private static CachedResponse response(int ciphertextSize) {
+        return new CachedResponse(HttpStatus.OK, HttpHeaders.EMPTY, new byte[ciphertextSize], "W/\"x\"");
+    }
+}
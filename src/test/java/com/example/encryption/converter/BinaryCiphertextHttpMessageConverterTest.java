@@ -0,0 +1,115 @@
+package com.example.encryption.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.encryption.aspect.CryptoSummaryInterceptor;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.config.WebMvcConfig;
+import com.example.encryption.util.AESUtils;
+
+class BinaryCiphertextHttpMessageConverterTest {
+
+    private AESUtils aesUtils;
+    private byte[] ciphertext;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey("BinaryTestKey123");
+        aesUtils = new AESUtils(properties);
+        ciphertext = aesUtils.encryptToBytes("hello".getBytes(StandardCharsets.UTF_8));
+
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new ByteArrayHttpMessageConverter(),
+            new StringHttpMessageConverter(StandardCharsets.UTF_8), new MappingJackson2HttpMessageConverter()));
+        new WebMvcConfig(aesUtils, new CryptoSummaryInterceptor(properties)).extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EchoController())
+            .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+            .build();
+    }
+
+    @Test
+    void read_encryptedBinary_keepsEveryByte() throws Exception {
+        BinaryCiphertextHttpMessageConverter converter = new BinaryCiphertextHttpMessageConverter();
+        MockHttpInputMessage input = new MockHttpInputMessage(ciphertext);
+        input.getHeaders().setContentType(BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY);
+
+        String read = converter.read(String.class, input);
+
+        assertThat(read.getBytes(StandardCharsets.ISO_8859_1)).isEqualTo(ciphertext);
+    }
+
+    @Test
+    void canReadAndWrite_otherMediaTypes_leftToOtherConverters() {
+        BinaryCiphertextHttpMessageConverter converter = new BinaryCiphertextHttpMessageConverter();
+
+        assertThat(converter.canRead(String.class, BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY)).isTrue();
+        assertThat(converter.canRead(String.class, MediaType.APPLICATION_OCTET_STREAM)).isFalse();
+        assertThat(converter.canRead(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(String.class, MediaType.TEXT_PLAIN)).isFalse();
+        assertThat(converter.canRead(byte[].class, BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY)).isFalse();
+        assertThat(converter.canWrite(String.class, BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY)).isFalse();
+    }
+
+    @Test
+    void encryptedBinary_readIntoStringAndWrittenAsBytes_roundTripsCiphertext() throws Exception {
+        byte[] response = mockMvc.perform(post("/binary/echo")
+                .contentType(BinaryCiphertextHttpMessageConverter.ENCRYPTED_BINARY)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .content(ciphertext))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(response).isEqualTo(ciphertext);
+        assertThat(new String(aesUtils.decrypt(response), StandardCharsets.UTF_8)).isEqualTo("hello");
+    }
+
+    @Test
+    void octetStreamString_stillReadByStringConverter() throws Exception {
+        byte[] body = "héllo".getBytes(StandardCharsets.UTF_8);
+
+        byte[] response = mockMvc.perform(post("/binary/echo")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Decoded as UTF-8 text by the String converter, not byte per char as ciphertext
+        assertThat(new String(response, StandardCharsets.ISO_8859_1)).isEqualTo("héllo");
+    }
+
+    /**
+     * Returns the bytes behind a String body, as the aspect does for binary responses
+     */
+    @RestController
+    static class EchoController {
+
+        @PostMapping("/binary/echo")
+        byte[] echo(@RequestBody String data) {
+            return data.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.encryption.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.example.encryption.aspect.CryptoSummaryInterceptor;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.config.WebMvcConfig;
+import com.example.encryption.controller.ConverterEncryptionController;
+import com.example.encryption.dto.UserRegisterRequest;
+import com.example.encryption.util.AESUtils;
+
+class EncryptingHttpMessageConverterTest {
+
+    private static final UserRegisterRequest REQUEST =
+        new UserRegisterRequest("user1", "User One", "user1@example.com", "13800001234", "password123");
+
+    private AESUtils aesUtils;
+    private EncryptingHttpMessageConverter converter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey("ConverterKey1234");
+        aesUtils = new AESUtils(properties);
+        converter = new EncryptingHttpMessageConverter(aesUtils);
+
+        // Same converter order as the application: the defaults extended by WebMvcConfig
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(
+            List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+        new WebMvcConfig(aesUtils, new CryptoSummaryInterceptor(properties)).extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ConverterEncryptionController(), new PlainController())
+            .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+            .build();
+    }
+
+    @Test
+    void write_thenRead_roundTripsObject() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(REQUEST, UserRegisterRequest.class, EncryptingHttpMessageConverter.ENCRYPTED_JSON, output);
+
+        String encrypted = output.getBodyAsString(StandardCharsets.US_ASCII);
+        assertThat(encrypted).doesNotContain("user1");
+        assertThat(JSON.parseObject(aesUtils.decrypt(encrypted)).getString("email")).isEqualTo("user1@example.com");
+
+        UserRegisterRequest read = (UserRegisterRequest) converter.read(UserRegisterRequest.class, null,
+            new MockHttpInputMessage(output.getBodyAsBytes()));
+        assertThat(read.getUserId()).isEqualTo("user1");
+        assertThat(read.getPhoneNumber()).isEqualTo("13800001234");
+    }
+
+    @Test
+    void read_withTamperedBody_throwsHttpMessageNotReadableException() {
+        MockHttpInputMessage input = new MockHttpInputMessage("not-ciphertext!".getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> converter.read(UserRegisterRequest.class, null, input))
+            .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void canWrite_onlyForExplicitEncryptedJson() {
+        assertThat(converter.canWrite(Map.class, EncryptingHttpMessageConverter.ENCRYPTED_JSON)).isTrue();
+        assertThat(converter.canWrite(Map.class, MediaType.ALL)).isFalse();
+        assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(Map.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void register_encryptedRequest_returnsEncryptedResponse() throws Exception {
+        String body = aesUtils.encrypt(JSON.toJSONString(REQUEST));
+
+        String response = mockMvc.perform(post("/api/converter/register")
+                .contentType(EncryptingHttpMessageConverter.ENCRYPTED_JSON)
+                .accept(EncryptingHttpMessageConverter.ENCRYPTED_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(EncryptingHttpMessageConverter.ENCRYPTED_JSON))
+            .andReturn().getResponse().getContentAsString();
+
+        JSONObject decrypted = JSON.parseObject(aesUtils.decrypt(response));
+        assertThat(decrypted.getString("userId")).isEqualTo("user1");
+        assertThat(decrypted.getBooleanValue("success")).isTrue();
+    }
+
+    @Test
+    void plainEndpoint_withWildcardOrJsonAccept_getsPlainJson() throws Exception {
+        for (MediaType accept : List.of(MediaType.ALL, MediaType.APPLICATION_JSON)) {
+            String response = mockMvc.perform(get("/plain").accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+            assertThat(JSON.parseObject(response).getString("status")).isEqualTo("ok");
+        }
+    }
+
+    /**
+     * Endpoint without encryption, sharing the converter list with the encrypted endpoints
+     */
+    @RestController
+    static class PlainController {
+
+        @GetMapping("/plain")
+        Map<String, String> plain() {
+            return Map.of("status", "ok");
+        }
+    }
+}
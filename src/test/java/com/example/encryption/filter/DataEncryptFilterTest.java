@@ -0,0 +1,136 @@
+package com.example.encryption.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.AESUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+class DataEncryptFilterTest {
+
+    private static final String JSON = "{\"userId\":\"user1\",\"email\":\"user1@example.com\"}";
+
+    private AESUtils aesUtils;
+    private DataEncryptFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey("FilterTestKey123");
+        properties.setEnabledPaths(List.of("/api/**"));
+        properties.setExcludedPaths(List.of("/api/public/**"));
+        aesUtils = new AESUtils(properties);
+        filter = new DataEncryptFilter(aesUtils, properties);
+    }
+
+    @Test
+    void doFilter_encryptedRequest_decryptedBeforeHandler() throws Exception {
+        MockHttpServletRequest request = post("/api/filter/user", aesUtils.encrypt(JSON));
+        AtomicReference<String> body = new AtomicReference<>();
+        AtomicReference<String> contentType = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            body.set(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8));
+            contentType.set(req.getContentType());
+        });
+
+        assertThat(body).hasValue(JSON);
+        assertThat(contentType).hasValue(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    void doFilter_response_encryptedOnTheWayOut() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/filter/user"), response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setContentLength(JSON.length());
+            res.getWriter().write(JSON);
+        });
+
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_PLAIN_VALUE);
+        assertThat(response.getHeader("Content-Length")).isNull();
+        assertThat(aesUtils.decrypt(response.getContentAsString())).isEqualTo(JSON);
+    }
+
+    @Test
+    void doFilter_excludedPath_passesThroughUntouched() throws Exception {
+        MockHttpServletRequest request = post("/api/public/info", JSON);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Object> seenRequest = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            seenRequest.set(req);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8));
+        });
+
+        assertThat(seenRequest).hasValue(request);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(JSON);
+    }
+
+    @Test
+    void doFilter_sendError_notEncrypted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/filter/missing"), response,
+            (req, res) -> ((HttpServletResponse) res).sendError(HttpStatus.NOT_FOUND.value(), "Not found"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getErrorMessage()).isEqualTo("Not found");
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void doFilter_errorStatus_writesPlainBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String error = "{\"error\":\"invalid\"}";
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/filter/user"), response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(HttpStatus.BAD_REQUEST.value());
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(error.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(error);
+    }
+
+    @Test
+    void doFilter_emptyBodies_stayEmpty() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/filter/user");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> body = new AtomicReference<>();
+        FilterChain chain = (req, res) ->
+            body.set(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8));
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(body).hasValue("");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private static MockHttpServletRequest post(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
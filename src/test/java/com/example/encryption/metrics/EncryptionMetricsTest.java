@@ -0,0 +1,48 @@
+package com.example.encryption.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.encryption.async.CryptoExecutor;
+import com.example.encryption.cache.EncryptedResponseCache;
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.metrics.EncryptionMetrics.OperationMeters;
+import com.example.encryption.util.CryptoProviders;
+import com.example.encryption.util.EnvelopeUtils;
+import com.example.encryption.util.RSAUtils;
+import com.example.encryption.util.SessionKeyStore;
+import com.example.encryption.util.SignatureUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EncryptionMetricsTest {
+
+    private final EncryptionProperties properties = new EncryptionProperties();
+    // Separate RSAUtils for the handshake signing key, so its key generation does not show in the RSA gauges
+    private final RSAUtils signingRsaUtils = new RSAUtils(properties);
+    private final EncryptionMetrics metrics = new EncryptionMetrics(new RSAUtils(properties),
+        new CryptoExecutor(properties), new EncryptedResponseCache(properties),
+        new SessionKeyStore(properties, CryptoProviders.defaults(), new EnvelopeUtils(properties, signingRsaUtils),
+            new SignatureUtils(properties, signingRsaUtils)));
+
+    @Test
+    void operationMeters_createdBeforeBinding_recordToBoundRegistry() {
+        OperationMeters meters = metrics.operationMeters(EncryptionMetrics.OPERATION_DECRYPT, "AES", "Demo.endpoint");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        meters.recordSuccess(System.nanoTime());
+        meters.recordSizes(10, 24);
+        meters.recordDecryptFailure();
+
+        assertThat(registry.get("encryption.operation").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("encryption.payload.size").tag("type", "ciphertext").summary().totalAmount())
+            .isEqualTo(24);
+        assertThat(registry.get("encryption.decrypt.failures").tag("endpoint", "Demo.endpoint").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("encryption.rsa.key.cache.size").gauge().value()).isZero();
+        assertThat(registry.get("encryption.rsa.keypair.pool.starvations").functionCounter().count()).isZero();
+        assertThat(registry.get("encryption.crypto.executor.rejected").functionCounter().count()).isZero();
+    }
+}
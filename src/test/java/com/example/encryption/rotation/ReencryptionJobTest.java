@@ -0,0 +1,62 @@
+package com.example.encryption.rotation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.AESUtils;
+
+class ReencryptionJobTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void migrate_withMixedKeyVersions_reencryptsOnlyOutdatedEntries() throws Exception {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().getKeyRing().setReencryptRate(1000);
+        AESUtils aesUtils = new AESUtils(properties);
+        InMemoryStore store = new InMemoryStore();
+        store.entries.put("legacy", aesUtils.encrypt("legacy-value"));
+
+        Path keyRing = Files.writeString(tempDir.resolve("aes-keys.properties"), "1=" + aesUtils.generateRandomKey(128));
+        properties.getAes().getKeyRing().setLocation(keyRing.toString());
+        store.entries.put("current", aesUtils.encrypt("current-value"));
+        String current = store.entries.get("current");
+
+        ReencryptionJob job = new ReencryptionJob(aesUtils, properties);
+        try {
+            long migrated = job.migrate(store).get(10, TimeUnit.SECONDS);
+
+            assertThat(migrated).isEqualTo(1);
+            assertThat(store.entries.get("current")).isSameAs(current);
+            assertThat(aesUtils.isEncryptedWithCurrentKey(store.entries.get("legacy"))).isTrue();
+            assertThat(aesUtils.decrypt(store.entries.get("legacy"))).isEqualTo("legacy-value");
+        } finally {
+            job.destroy();
+        }
+    }
+
+    private static final class InMemoryStore implements CiphertextStore {
+        private final Map<String, String> entries = new LinkedHashMap<>();
+
+        @Override
+        public void forEach(BiConsumer<String, String> visitor) {
+            Map.copyOf(entries).forEach(visitor);
+        }
+
+        @Override
+        public void update(String id, String ciphertext) {
+            entries.put(id, ciphertext);
+        }
+    }
+}
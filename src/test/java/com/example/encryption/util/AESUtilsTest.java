@@ -0,0 +1,225 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+class AESUtilsTest {
+
+    private EncryptionProperties properties;
+    private AESUtils aesUtils;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EncryptionProperties();
+        properties.getAes().setKey("TestSecretKey123");
+        aesUtils = new AESUtils(properties);
+    }
+
+    @Test
+    void encrypt_withValidData_roundTripsThroughDecrypt() {
+        String plain = "{\"userId\":\"user1\",\"email\":\"user1@example.com\"}";
+
+        String first = aesUtils.decrypt(aesUtils.encrypt(plain));
+        String second = aesUtils.decrypt(aesUtils.encrypt(plain));
+
+        assertThat(first).isEqualTo(plain);
+        assertThat(second).isEqualTo(plain);
+    }
+
+    @Test
+    void encrypt_afterKeyChange_usesNewKey() {
+        String encryptedWithOldKey = aesUtils.encrypt("payload");
+
+        properties.getAes().setKey("AnotherKey123456");
+
+        assertThat(aesUtils.decrypt(aesUtils.encrypt("payload"))).isEqualTo("payload");
+        assertThatThrownBy(() -> aesUtils.decrypt(encryptedWithOldKey))
+            .isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void encryptToBytes_withValidData_isRawFormOfBase64Ciphertext() {
+        byte[] plain = "payload".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encrypted = aesUtils.encryptToBytes(plain);
+
+        assertThat(aesUtils.decrypt(encrypted)).isEqualTo(plain);
+        assertThat(aesUtils.decrypt(Base64.getEncoder().encodeToString(encrypted))).isEqualTo("payload");
+    }
+
+    @Test
+    void decrypt_afterFailure_recoversOnNextCall() {
+        assertThatThrownBy(() -> aesUtils.decrypt("bm90LWEtdmFsaWQtY2lwaGVydGV4dA=="))
+            .isInstanceOf(EncryptionException.class);
+
+        assertThat(aesUtils.decrypt(aesUtils.encrypt("payload"))).isEqualTo("payload");
+    }
+
+    @Test
+    void encryptChunks_withPartialLastChunk_decryptsEachChunkIndependently() {
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+
+        List<String> chunks = aesUtils.encryptChunks(items, 4,
+            chunk -> chunk.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.stream().map(aesUtils::decrypt))
+            .containsExactly("[0, 1, 2, 3]", "[4, 5, 6, 7]", "[8, 9]");
+    }
+
+    @Test
+    void encryptAll_withManyValues_keepsInputOrder() {
+        List<String> plain = IntStream.range(0, 100).mapToObj(i -> "value-" + i).toList();
+
+        List<String> encrypted = aesUtils.encryptAll(plain);
+
+        assertThat(encrypted.stream().map(aesUtils::decrypt)).containsExactlyElementsOf(plain);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"})
+    void encrypt_withIvMode_roundTripsWithFreshIvPerCall(String algorithm) {
+        properties.getAes().setAlgorithm(algorithm);
+
+        String first = aesUtils.encrypt("payload");
+        String second = aesUtils.encrypt("payload");
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(aesUtils.decrypt(first)).isEqualTo("payload");
+        assertThat(aesUtils.decrypt(second)).isEqualTo("payload");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AES/ECB/PKCS5Padding", "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"})
+    void encrypt_withDirectBuffers_roundTripsIntoReusedBuffers(String algorithm) {
+        properties.getAes().setAlgorithm(algorithm);
+        byte[] plain = "{\"userId\":\"user1\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(aesUtils.maxEncryptedLength(plain.length));
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(plain.length + 16);
+
+        for (int i = 0; i < 3; i++) {
+            encrypted.clear();
+            decrypted.clear();
+            int written = aesUtils.encrypt(ByteBuffer.wrap(plain), encrypted);
+            encrypted.flip();
+            byte[] encryptedBytes = new byte[written];
+            encrypted.duplicate().get(encryptedBytes);
+
+            aesUtils.decrypt(encrypted, decrypted);
+            decrypted.flip();
+            byte[] result = new byte[decrypted.remaining()];
+            decrypted.get(result);
+
+            assertThat(written).isEqualTo(aesUtils.maxEncryptedLength(plain.length));
+            assertThat(result).isEqualTo(plain);
+            assertThat(aesUtils.decrypt(encryptedBytes)).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void decrypt_withTamperedGcmCiphertext_failsAuthentication() {
+        properties.getAes().setAlgorithm("AES/GCM/NoPadding");
+        byte[] encrypted = Base64.getDecoder().decode(aesUtils.encrypt("payload"));
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThatThrownBy(() -> aesUtils.decrypt(Base64.getEncoder().encodeToString(encrypted)))
+            .isInstanceOf(EncryptionException.class);
+        assertThat(aesUtils.decrypt(aesUtils.encrypt("payload"))).isEqualTo("payload");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AES/ECB/PKCS5Padding", "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding"})
+    void encryptingStream_withIvMode_isCompatibleWithDecrypt(String algorithm) throws Exception {
+        properties.getAes().setAlgorithm(algorithm);
+        String plain = "{\"userId\":\"user1\"}".repeat(100);
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (OutputStream out = aesUtils.encryptingStream(target)) {
+            out.write(plain.getBytes(StandardCharsets.UTF_8));
+        }
+        String encrypted = target.toString(StandardCharsets.UTF_8);
+
+        assertThat(aesUtils.decrypt(encrypted)).isEqualTo(plain);
+        try (InputStream in = aesUtils.decryptingStream(
+                new ByteArrayInputStream(aesUtils.encrypt(plain).getBytes(StandardCharsets.UTF_8)))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void encrypt_afterKeyRingRotation_usesNewVersionAndDecryptsOldOnes(@TempDir Path tempDir) throws Exception {
+        Path keyRing = tempDir.resolve("aes-keys.properties");
+        Files.writeString(keyRing, "1=" + aesUtils.generateRandomKey(128) + "\n");
+        properties.getAes().getKeyRing().setLocation(keyRing.toString());
+        String encryptedWithVersion1 = aesUtils.encrypt("payload");
+
+        Files.writeString(keyRing, "2=" + aesUtils.generateRandomKey(256) + "\n", StandardOpenOption.APPEND);
+        aesUtils.reloadKeyRing();
+        String encryptedWithVersion2 = aesUtils.encrypt("payload");
+
+        assertThat(aesUtils.currentKeyVersion()).isEqualTo(2);
+        assertThat(aesUtils.decrypt(encryptedWithVersion1)).isEqualTo("payload");
+        assertThat(aesUtils.decrypt(encryptedWithVersion2)).isEqualTo("payload");
+        assertThat(aesUtils.isEncryptedWithCurrentKey(encryptedWithVersion1)).isFalse();
+        assertThat(aesUtils.isEncryptedWithCurrentKey(encryptedWithVersion2)).isTrue();
+
+        String reencrypted = aesUtils.reencrypt(encryptedWithVersion1);
+        assertThat(aesUtils.isEncryptedWithCurrentKey(reencrypted)).isTrue();
+        assertThat(aesUtils.decrypt(reencrypted)).isEqualTo("payload");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AES/ECB/PKCS5Padding", "AES/GCM/NoPadding"})
+    void decrypt_withKeyRing_acceptsDataWithoutKeyId(String algorithm, @TempDir Path tempDir) throws Exception {
+        properties.getAes().setAlgorithm(algorithm);
+        String encryptedBeforeKeyRing = aesUtils.encrypt("payload");
+        Path keyRing = Files.writeString(tempDir.resolve("aes-keys.properties"), "1=" + aesUtils.generateRandomKey(128));
+
+        properties.getAes().getKeyRing().setLocation(keyRing.toString());
+
+        assertThat(aesUtils.decrypt(encryptedBeforeKeyRing)).isEqualTo("payload");
+        try (InputStream in = aesUtils.decryptingStream(
+                new ByteArrayInputStream(encryptedBeforeKeyRing.getBytes(StandardCharsets.UTF_8)))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("payload");
+        }
+        assertThat(Base64.getDecoder().decode(aesUtils.encrypt("payload")))
+            .startsWith((byte) 0xA5, (byte) 0x4B, (byte) 1);
+    }
+
+    @Test
+    void encrypt_afterKeyRingFileChanges_reloadsWithoutRestart(@TempDir Path tempDir) throws Exception {
+        Path keyRing = Files.writeString(tempDir.resolve("aes-keys.properties"), "1=" + aesUtils.generateRandomKey(128));
+        properties.getAes().getKeyRing().setLocation(keyRing.toString());
+        properties.getAes().getKeyRing().setReloadInterval(Duration.ZERO);
+        assertThat(aesUtils.currentKeyVersion()).isEqualTo(1);
+
+        Files.writeString(keyRing, "\n3=" + aesUtils.generateRandomKey(128), StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(keyRing, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertThat(aesUtils.currentKeyVersion()).isEqualTo(3);
+    }
+}
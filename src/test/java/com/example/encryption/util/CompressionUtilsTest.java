@@ -0,0 +1,43 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.util.CompressionUtils.Format;
+
+class CompressionUtilsTest {
+
+    private static final byte[] JSON_LIST = "{\"userId\":\"user1\",\"email\":\"user1@example.com\"},".repeat(100)
+        .getBytes(StandardCharsets.UTF_8);
+
+    private CompressionUtils compressionUtils;
+
+    @BeforeEach
+    void setUp() {
+        compressionUtils = new CompressionUtils(new EncryptionProperties());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Format.class, names = {"GZIP", "DEFLATE"})
+    void compress_withRepetitiveJson_shrinksAndRoundTrips(Format format) {
+        byte[] compressed = compressionUtils.compress(JSON_LIST, format);
+
+        assertThat(compressed.length).isLessThan(JSON_LIST.length / 5);
+        assertThat(compressionUtils.decompress(compressed)).isEqualTo(JSON_LIST);
+    }
+
+    @Test
+    void compress_belowThreshold_returnsInputUnchanged() {
+        byte[] small = "{\"userId\":\"user1\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(compressionUtils.compress(small, Format.GZIP)).isSameAs(small);
+        assertThat(compressionUtils.decompress(small)).isSameAs(small);
+    }
+}
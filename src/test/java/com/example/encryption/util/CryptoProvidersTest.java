@@ -0,0 +1,94 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.CryptoProviders.Operation;
+import com.example.encryption.util.CryptoProviders.Selection;
+
+class CryptoProvidersTest {
+
+    @Test
+    void defaults_useJcaPreferenceOrder() {
+        Map<Operation, Selection> selections = CryptoProviders.defaults().getSelections();
+
+        assertThat(selections.get(Operation.AES).provider()).isEqualTo("SunJCE");
+        assertThat(selections.get(Operation.AES).calibrated()).isFalse();
+        assertThat(selections.get(Operation.RSA).transformation()).isEqualTo(CryptoProviders.RSA_TRANSFORMATION);
+    }
+
+    @Test
+    void aesUtils_withBouncyCastle_interoperatesWithSunJce() {
+        EncryptionProperties properties = properties("BC", "BC");
+        AESUtils bouncyCastle = new AESUtils(properties, new CryptoProviders(properties, List.of()));
+        AESUtils sunJce = new AESUtils(new EncryptionProperties());
+
+        assertThat(bouncyCastle.decrypt(sunJce.encrypt("hello"))).isEqualTo("hello");
+        assertThat(sunJce.decrypt(bouncyCastle.encrypt("world"))).isEqualTo("world");
+    }
+
+    @Test
+    void rsaUtils_withBouncyCastle_interoperatesWithSunJce() {
+        EncryptionProperties properties = properties("BC", "BC");
+        RSAUtils bouncyCastle = new RSAUtils(properties, new CryptoProviders(properties, List.of()));
+        RSAUtils sunJce = new RSAUtils(new EncryptionProperties());
+        try {
+            Map<String, String> keys = sunJce.generateKeyPair();
+            String publicKey = keys.get("publicKey");
+            String privateKey = keys.get("privateKey");
+
+            assertThat(bouncyCastle.decryptWithPrivateKey(sunJce.encryptWithPublicKey("hello", publicKey), privateKey)).isEqualTo("hello");
+            assertThat(sunJce.decryptWithPrivateKey(bouncyCastle.encryptWithPublicKey("world", publicKey), privateKey)).isEqualTo("world");
+
+            SecretKey key = new SecretKeySpec(new byte[32], "AES");
+            byte[] wrapped = bouncyCastle.wrapKey(key, publicKey);
+            assertThat(sunJce.unwrapKey(wrapped, "AES", privateKey).getEncoded()).isEqualTo(key.getEncoded());
+        } finally {
+            bouncyCastle.destroy();
+            sunJce.destroy();
+        }
+    }
+
+    @Test
+    void auto_measuresEveryCandidateAndSelectsFastest() {
+        EncryptionProperties properties = properties(CryptoProviders.AUTO, CryptoProviders.AUTO);
+        properties.getProvider().setCalibrationTime(Duration.ofMillis(20));
+
+        Map<Operation, Selection> selections = new CryptoProviders(properties, List.of()).getSelections();
+
+        for (Selection selection : selections.values()) {
+            assertThat(selection.calibrated()).isTrue();
+            assertThat(selection.opsPerSecond()).containsOnlyKeys("SunJCE", "BC");
+            assertThat(selection.opsPerSecond().values()).allMatch(rate -> rate > 0);
+            long fastest = selection.opsPerSecond().values().stream().mapToLong(Long::longValue).max().orElseThrow();
+            assertThat(selection.opsPerSecond().get(selection.provider())).isEqualTo(fastest);
+        }
+    }
+
+    @Test
+    void constructor_withUnknownProvider_throwsEncryptionException() {
+        EncryptionProperties properties = properties("NoSuchProvider", CryptoProviders.DEFAULT);
+
+        assertThatThrownBy(() -> new CryptoProviders(properties, List.of()))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageContaining("NoSuchProvider");
+    }
+
+    private static EncryptionProperties properties(String aes, String rsa) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getProvider().setAes(aes);
+        properties.getProvider().setRsa(rsa);
+        return properties;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+class FileEncryptionUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileEncryptionUtils fileEncryptionUtils;
+    private Path plain;
+    private Path encrypted;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getAes().setKey("TestSecretKey123");
+        properties.getFile().setSegmentSize(DataSize.ofBytes(1000));
+        fileEncryptionUtils = new FileEncryptionUtils(properties, new AESUtils(properties));
+
+        content = new byte[10_500];
+        new Random(42).nextBytes(content);
+        plain = Files.write(tempDir.resolve("export.json"), content);
+        encrypted = tempDir.resolve("export.json.enc");
+    }
+
+    @Test
+    void encryptFile_withManySegments_roundTripsThroughDecryptFile() throws IOException {
+        Path decrypted = tempDir.resolve("export.decrypted.json");
+
+        fileEncryptionUtils.encryptFile(plain, encrypted);
+        fileEncryptionUtils.decryptFile(encrypted, decrypted);
+
+        assertThat(fileEncryptionUtils.segmentCount(encrypted)).isEqualTo(11);
+        assertThat(Files.readAllBytes(decrypted)).isEqualTo(content);
+    }
+
+    @Test
+    void decryptSegment_withLastSegment_returnsOnlyThatSegment() {
+        fileEncryptionUtils.encryptFile(plain, encrypted);
+
+        assertThat(fileEncryptionUtils.decryptSegment(encrypted, 3)).isEqualTo(Arrays.copyOfRange(content, 3000, 4000));
+        assertThat(fileEncryptionUtils.decryptSegment(encrypted, 10)).isEqualTo(Arrays.copyOfRange(content, 10_000, 10_500));
+    }
+
+    @Test
+    void decryptFile_withTamperedSegment_failsAndRemovesTarget() throws IOException {
+        fileEncryptionUtils.encryptFile(plain, encrypted);
+        byte[] bytes = Files.readAllBytes(encrypted);
+        bytes[5000] ^= 1;
+        Files.write(encrypted, bytes);
+        Path decrypted = tempDir.resolve("export.decrypted.json");
+
+        assertThatThrownBy(() -> fileEncryptionUtils.decryptFile(encrypted, decrypted))
+            .isInstanceOf(EncryptionException.class);
+        assertThat(decrypted).doesNotExist();
+    }
+}
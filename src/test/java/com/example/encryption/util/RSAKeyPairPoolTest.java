@@ -0,0 +1,66 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.encryption.config.EncryptionProperties;
+
+class RSAKeyPairPoolTest {
+
+    private EncryptionProperties properties;
+    private RSAKeyPairPool pool;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EncryptionProperties();
+        properties.getRsa().setKeySize(1024);
+        properties.getRsa().setKeyPoolSize(2);
+        properties.getRsa().setKeyPoolThreads(1);
+        pool = new RSAKeyPairPool(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void poll_refilledInBackground_returnsPooledKeyPair() throws Exception {
+        assertThat(pool.poll("RSA", 1024)).isNull();
+
+        awaitPooled();
+        KeyPair keyPair = pool.poll("RSA", 1024);
+
+        assertThat(keyPair).isNotNull();
+        assertThat(pool.hitCount()).isEqualTo(1);
+        assertThat(pool.starvationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refill_afterGenerationFailure_retriesAndRecovers() throws Exception {
+        properties.getRsa().setAlgorithm("NoSuchAlgorithm");
+        assertThat(pool.poll("RSA", 1024)).isNull();
+
+        // Let the refill thread fail and back off at least once
+        Thread.sleep(3 * RSAKeyPairPool.INITIAL_RETRY_DELAY_MILLIS);
+        assertThat(pool.size()).isZero();
+
+        properties.getRsa().setAlgorithm("RSA");
+        awaitPooled();
+
+        assertThat(pool.poll("RSA", 1024)).isNotNull();
+    }
+
+    private void awaitPooled() throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (pool.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(pool.size()).isPositive();
+    }
+}
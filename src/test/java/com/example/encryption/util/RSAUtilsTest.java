@@ -0,0 +1,115 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+
+class RSAUtilsTest {
+
+    private RSAUtils rsaUtils;
+    private Map<String, String> keys;
+
+    @BeforeEach
+    void setUp() {
+        rsaUtils = new RSAUtils(new EncryptionProperties());
+        keys = rsaUtils.generateKeyPair();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rsaUtils.destroy();
+    }
+
+    @Test
+    void encryptWithPublicKey_withValidData_roundTripsThroughPrivateKey() {
+        String encrypted = rsaUtils.encryptWithPublicKey("secret", keys.get("publicKey"));
+
+        assertThat(rsaUtils.decryptWithPrivateKey(encrypted, keys.get("privateKey"))).isEqualTo("secret");
+    }
+
+    @Test
+    void encryptWithPublicKey_withBytes_matchesStringApi() {
+        byte[] plain = "secret".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encrypted = rsaUtils.encryptWithPublicKey(plain, keys.get("publicKey"));
+
+        assertThat(rsaUtils.decryptWithPrivateKey(encrypted, keys.get("privateKey"))).isEqualTo(plain);
+        assertThat(rsaUtils.decryptWithPrivateKey(Base64.getEncoder().encodeToString(encrypted), keys.get("privateKey")))
+            .isEqualTo("secret");
+    }
+
+    @Test
+    void encryptWithPublicKey_withRepeatedKey_servesKeyFromCache() {
+        for (int i = 0; i < 5; i++) {
+            String encrypted = rsaUtils.encryptWithPublicKey("secret-" + i, keys.get("publicKey"));
+            rsaUtils.decryptWithPrivateKey(encrypted, keys.get("privateKey"));
+        }
+
+        assertThat(rsaUtils.getKeyCacheMisses()).isEqualTo(2);
+        assertThat(rsaUtils.getKeyCacheHits()).isEqualTo(8);
+        assertThat(rsaUtils.getKeyCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void envelopeEncrypt_withPayloadLargerThanRsaBlock_roundTrips() {
+        EnvelopeUtils envelopeUtils = new EnvelopeUtils(new EncryptionProperties(), rsaUtils);
+        String payload = "x".repeat(10_000);
+
+        String first = envelopeUtils.encrypt(payload, envelopeUtils.getServerPublicKey());
+        String second = envelopeUtils.encrypt(payload, envelopeUtils.getServerPublicKey());
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(envelopeUtils.decrypt(first)).isEqualTo(payload);
+        assertThat(envelopeUtils.decrypt(second)).isEqualTo(payload);
+    }
+
+    @Test
+    void envelopeDecrypt_withCachedDataKeyAndOtherPrivateKey_throwsEncryptionException() {
+        EnvelopeUtils envelopeUtils = new EnvelopeUtils(new EncryptionProperties(), rsaUtils);
+        Map<String, String> otherKeys = rsaUtils.generateKeyPair();
+        String envelope = envelopeUtils.encrypt("secret", envelopeUtils.getServerPublicKey());
+
+        // The first decryption caches the unwrapped data key for the server private key
+        assertThat(envelopeUtils.decrypt(envelope)).isEqualTo("secret");
+        assertThatThrownBy(() -> envelopeUtils.decrypt(envelope, otherKeys.get("privateKey")))
+            .isInstanceOf(EncryptionException.class);
+        assertThat(envelopeUtils.decrypt(envelope)).isEqualTo("secret");
+    }
+
+    @Test
+    void generateKeyPair_afterPoolRefill_servesPreGeneratedPair() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (rsaUtils.getKeyPairPoolSize() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Map<String, String> pooled = rsaUtils.generateKeyPair();
+
+        assertThat(rsaUtils.getKeyPairPoolStarvations()).isEqualTo(1);
+        assertThat(rsaUtils.getKeyPairPoolHits()).isEqualTo(1);
+        String encrypted = rsaUtils.encryptWithPublicKey("secret", pooled.get("publicKey"));
+        assertThat(rsaUtils.decryptWithPrivateKey(encrypted, pooled.get("privateKey"))).isEqualTo("secret");
+    }
+
+    @Test
+    void generateKeyPair_withPoolDisabled_generatesSynchronously() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getRsa().setKeyPoolSize(0);
+        RSAUtils unpooled = new RSAUtils(properties);
+
+        assertThat(unpooled.generateKeyPair()).containsKeys("publicKey", "privateKey");
+        assertThat(unpooled.getKeyPairPoolStarvations()).isZero();
+        assertThat(unpooled.getKeyPairPoolSize()).isZero();
+    }
+}
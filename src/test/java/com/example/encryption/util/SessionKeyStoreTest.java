@@ -0,0 +1,215 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.SessionKeyStore.Handshake;
+import com.example.encryption.util.SessionKeyStore.Session;
+
+class SessionKeyStoreTest {
+
+    private static RSAUtils rsaUtils;
+    private static EnvelopeUtils envelopeUtils;
+    private static SignatureUtils signatureUtils;
+
+    @BeforeAll
+    static void setUpServerKey() {
+        EncryptionProperties properties = new EncryptionProperties();
+        rsaUtils = new RSAUtils(properties);
+        envelopeUtils = new EnvelopeUtils(properties, rsaUtils);
+        signatureUtils = new SignatureUtils(properties, rsaUtils);
+    }
+
+    @AfterAll
+    static void tearDownServerKey() {
+        rsaUtils.destroy();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"X25519", "secp256r1"})
+    void handshake_clientDerivesSameKey_exchangesMessagesBothWays(String curve) throws Exception {
+        SessionKeyStore store = store(curve, Duration.ofMinutes(5), 10);
+        KeyPair client = keyPair(curve);
+
+        Handshake handshake = store.handshake(encode(client.getPublic()));
+        Session session = store.session(handshake.sessionId());
+        SecretKey clientKey = clientKey(client, handshake);
+        byte[] aad = handshake.sessionId().getBytes(StandardCharsets.US_ASCII);
+
+        byte[] fromServer = session.encrypt("to client".getBytes(StandardCharsets.UTF_8));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, clientKey, new GCMParameterSpec(128, fromServer, 0, 12));
+        cipher.updateAAD(aad);
+        assertThat(new String(cipher.doFinal(fromServer, 12, fromServer.length - 12), StandardCharsets.UTF_8))
+            .isEqualTo("to client");
+
+        byte[] nonce = new byte[12];
+        cipher.init(Cipher.ENCRYPT_MODE, clientKey, new GCMParameterSpec(128, nonce));
+        cipher.updateAAD(aad);
+        byte[] fromClient = concat(nonce, cipher.doFinal("to server".getBytes(StandardCharsets.UTF_8)));
+        assertThat(new String(session.decrypt(fromClient), StandardCharsets.UTF_8)).isEqualTo("to server");
+        assertThat(handshake.curve()).isEqualTo(curve);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"X25519", "secp256r1"})
+    void handshake_signature_verifiesWithServerPublicKey(String curve) throws Exception {
+        SessionKeyStore store = store(curve, Duration.ofMinutes(5), 10);
+        String clientPublicKey = encode(keyPair(curve).getPublic());
+
+        Handshake handshake = store.handshake(clientPublicKey);
+
+        assertThat(handshake.signatureAlgorithm()).isEqualTo("RSASSA-PSS");
+        assertThat(verify(handshake, clientPublicKey, handshake.serverPublicKey(), envelopeUtils.getServerPublicKey()))
+            .isTrue();
+    }
+
+    @Test
+    void handshake_substitutedKeysOrOtherSigner_failVerification() throws Exception {
+        SessionKeyStore store = store("X25519", Duration.ofMinutes(5), 10);
+        String clientPublicKey = encode(keyPair("X25519").getPublic());
+        String attackerPublicKey = encode(keyPair("X25519").getPublic());
+        Handshake handshake = store.handshake(clientPublicKey);
+
+        // A man-in-the-middle swapping either ephemeral key cannot produce a matching signature
+        assertThat(verify(handshake, clientPublicKey, attackerPublicKey, envelopeUtils.getServerPublicKey())).isFalse();
+        assertThat(verify(handshake, attackerPublicKey, handshake.serverPublicKey(), envelopeUtils.getServerPublicKey()))
+            .isFalse();
+        assertThat(verify(handshake, clientPublicKey, handshake.serverPublicKey(),
+            rsaUtils.generateKeyPair().get("publicKey"))).isFalse();
+    }
+
+    @Test
+    void decrypt_ciphertextOfAnotherSession_throwsEncryptionException() throws Exception {
+        SessionKeyStore store = store("X25519", Duration.ofMinutes(5), 10);
+        Session first = store.session(store.handshake(encode(keyPair("X25519").getPublic())).sessionId());
+        Session second = store.session(store.handshake(encode(keyPair("X25519").getPublic())).sessionId());
+
+        byte[] encrypted = first.encrypt("secret".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> second.decrypt(encrypted)).isInstanceOf(EncryptionException.class);
+        assertThat(first.decrypt(encrypted)).isEqualTo("secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void session_expiredOrInvalidated_throwsEncryptionException() throws Exception {
+        SessionKeyStore expiring = store("X25519", Duration.ZERO, 10);
+        String expired = expiring.handshake(encode(keyPair("X25519").getPublic())).sessionId();
+        SessionKeyStore store = store("X25519", Duration.ofMinutes(5), 10);
+        String closed = store.handshake(encode(keyPair("X25519").getPublic())).sessionId();
+
+        assertThat(store.invalidate(closed)).isTrue();
+        assertThatThrownBy(() -> expiring.session(expired)).isInstanceOf(EncryptionException.class);
+        assertThatThrownBy(() -> store.session(closed)).isInstanceOf(EncryptionException.class);
+        assertThat(expiring.getSessionCount()).isZero();
+    }
+
+    @Test
+    void handshake_atSessionLimit_sweepsExpiredSessionsBeforeRefusing() throws Exception {
+        SessionKeyStore expiring = store("X25519", Duration.ZERO, 1);
+        expiring.handshake(encode(keyPair("X25519").getPublic()));
+        expiring.handshake(encode(keyPair("X25519").getPublic()));
+        assertThat(expiring.getSessionCount()).isEqualTo(1);
+
+        SessionKeyStore full = store("X25519", Duration.ofMinutes(5), 1);
+        full.handshake(encode(keyPair("X25519").getPublic()));
+        assertThatThrownBy(() -> full.handshake(encode(keyPair("X25519").getPublic())))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageContaining("Too many");
+        assertThat(full.getHandshakeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void handshake_withKeyOnOtherCurveOrMalformed_throwsEncryptionException() throws Exception {
+        SessionKeyStore store = store("X25519", Duration.ofMinutes(5), 10);
+
+        assertThatThrownBy(() -> store.handshake(encode(keyPair("secp256r1").getPublic())))
+            .isInstanceOf(EncryptionException.class);
+        assertThatThrownBy(() -> store.handshake("not a key")).isInstanceOf(EncryptionException.class);
+        assertThat(store.getSessionCount()).isZero();
+    }
+
+    private static SessionKeyStore store(String curve, Duration ttl, int maxSessions) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getSession().setCurve(curve);
+        properties.getSession().setTtl(ttl);
+        properties.getSession().setMaxSessions(maxSessions);
+        return new SessionKeyStore(properties, CryptoProviders.defaults(), envelopeUtils, signatureUtils);
+    }
+
+    /**
+     * Client side check of the handshake signature over the documented transcript
+     */
+    private static boolean verify(Handshake handshake, String clientPublicKey, String serverPublicKey,
+            String signingKey) {
+        byte[] transcript = String.join("\n", "api-encryption session handshake v1", handshake.curve(),
+            clientPublicKey, serverPublicKey, handshake.salt(), handshake.sessionId()).getBytes(StandardCharsets.UTF_8);
+        return signatureUtils.verify(transcript, Base64.getDecoder().decode(handshake.signature()), signingKey,
+            SignatureUtils.Scheme.of(handshake.signatureAlgorithm()));
+    }
+
+    private static KeyPair keyPair(String curve) throws Exception {
+        if ("X25519".equals(curve)) {
+            return KeyPairGenerator.getInstance("X25519").generateKeyPair();
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Client side of the handshake: ECDH with the server key, then HKDF-SHA256 as in RFC 5869
+     */
+    private static SecretKey clientKey(KeyPair client, Handshake handshake) throws Exception {
+        boolean x25519 = "X25519".equals(handshake.curve());
+        PublicKey serverKey = KeyFactory.getInstance(x25519 ? "X25519" : "EC")
+            .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(handshake.serverPublicKey())));
+        KeyAgreement agreement = KeyAgreement.getInstance(x25519 ? "X25519" : "ECDH");
+        agreement.init(client.getPrivate());
+        agreement.doPhase(serverKey, true);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(handshake.salt()), "HmacSHA256"));
+        byte[] pseudoRandomKey = mac.doFinal(agreement.generateSecret());
+        mac.init(new SecretKeySpec(pseudoRandomKey, "HmacSHA256"));
+        mac.update(SessionKeyStore.HKDF_INFO.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 1);
+        return new SecretKeySpec(Arrays.copyOf(mac.doFinal(), 32), "AES");
+    }
+
+    private static String encode(PublicKey key) {
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.example.encryption.config.EncryptionProperties;
+import com.example.encryption.exception.EncryptionException;
+import com.example.encryption.util.SignatureUtils.Scheme;
+import com.example.encryption.util.SignatureUtils.SignedMessage;
+
+class SignatureUtilsTest {
+
+    private RSAUtils rsaUtils;
+    private SignatureUtils signatureUtils;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties properties = new EncryptionProperties();
+        rsaUtils = new RSAUtils(properties);
+        signatureUtils = new SignatureUtils(properties, rsaUtils);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rsaUtils.destroy();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Scheme.class)
+    void sign_withLargeMessage_verifiesOnlyUnchangedData(Scheme scheme) {
+        Map<String, String> keys = signatureUtils.generateKeyPair(scheme);
+        // Far beyond a single RSA block
+        byte[] data = "x".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+
+        byte[] signature = signatureUtils.sign(data, keys.get("privateKey"), scheme);
+        byte[] tampered = data.clone();
+        tampered[50_000] = 'y';
+
+        assertThat(signatureUtils.verify(data, signature, keys.get("publicKey"), scheme)).isTrue();
+        assertThat(signatureUtils.verify(tampered, signature, keys.get("publicKey"), scheme)).isFalse();
+        // The per-thread Signature is reused for the next operation
+        assertThat(signatureUtils.verify(data, signature, keys.get("publicKey"), scheme)).isTrue();
+    }
+
+    @Test
+    void verify_withDefaultSchemeAndMalformedSignature_returnsFalse() {
+        Map<String, String> keys = signatureUtils.generateKeyPair(signatureUtils.getDefaultScheme());
+        String signature = signatureUtils.sign("payload", keys.get("privateKey"));
+
+        assertThat(signatureUtils.verify("payload", signature, keys.get("publicKey"))).isTrue();
+        assertThat(signatureUtils.verify("payload", "not base64!", keys.get("publicKey"))).isFalse();
+        assertThat(signatureUtils.verify("payload", "AAAA", keys.get("publicKey"))).isFalse();
+    }
+
+    @Test
+    void verify_withKeyOfOtherType_throwsEncryptionException() {
+        Map<String, String> edKeys = signatureUtils.generateKeyPair(Scheme.ED25519);
+
+        assertThatThrownBy(() -> signatureUtils.verify(new byte[] {1}, new byte[64], edKeys.get("publicKey"),
+                Scheme.SHA256_WITH_ECDSA))
+            .isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void verifyAll_withMixedBatch_returnsResultPerMessageInOrder() {
+        Map<String, String> keys = signatureUtils.generateKeyPair(Scheme.ED25519);
+        Map<String, String> otherKeys = signatureUtils.generateKeyPair(Scheme.ED25519);
+        List<SignedMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            byte[] data = ("event-" + i).getBytes(StandardCharsets.UTF_8);
+            byte[] signature = signatureUtils.sign(data, keys.get("privateKey"), Scheme.ED25519);
+            String publicKey = switch (i % 5) {
+                case 1 -> otherKeys.get("publicKey");
+                case 2 -> "not-a-key";
+                default -> keys.get("publicKey");
+            };
+            messages.add(new SignedMessage(data, i % 5 == 3 ? Arrays.copyOf(signature, 10) : signature, publicKey));
+        }
+
+        List<Boolean> results = signatureUtils.verifyAll(messages, Scheme.ED25519);
+
+        assertThat(results).hasSize(500);
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i)).as("message %d", i).isEqualTo(i % 5 == 0 || i % 5 == 4);
+        }
+    }
+
+    @Test
+    void constructor_withUnsupportedAlgorithm_throwsEncryptionException() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getSignature().setAlgorithm("MD5withRSA");
+
+        assertThatThrownBy(() -> new SignatureUtils(properties, rsaUtils))
+            .isInstanceOf(EncryptionException.class)
+            .hasMessageContaining("MD5withRSA");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.encryption.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ThreadCacheTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final ThreadCache<Integer> cache = new ThreadCache<>(created::incrementAndGet);
+
+    @Test
+    void use_onSameThread_reusesInstance() throws Exception {
+        int first = cache.use(value -> value);
+        int second = cache.use(value -> value);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void use_afterFailedTask_discardsInstance() throws Exception {
+        assertThatThrownBy(() -> cache.use(value -> {
+            throw new IllegalStateException("cipher left in undefined state");
+        })).isInstanceOf(IllegalStateException.class);
+
+        int next = cache.use(value -> value);
+
+        assertThat(next).isEqualTo(2);
+    }
+}